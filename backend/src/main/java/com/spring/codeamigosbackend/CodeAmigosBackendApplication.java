@@ -3,8 +3,10 @@ package com.spring.codeamigosbackend;
 import com.spring.codeamigosbackend.config.LoadEnvConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CodeAmigosBackendApplication {
 
 	public static void main(String[] args) {
@@ -38,8 +38,6 @@ public class OAuth2LoginController {
 
     @GetMapping("/success")
     public RedirectView oauth2Success(OAuth2AuthenticationToken authentication, HttpServletResponse response) {
-        System.out.println("==== /oauth2/success endpoint HIT ====");
-
         OAuth2User oAuth2User = authentication.getPrincipal();
         int githubId = oAuth2User.getAttribute("id");
         String githubUsername = oAuth2User.getAttribute("login");
@@ -83,23 +81,18 @@ public class OAuth2LoginController {
                 user.getStatus() // keep status
         );
 
-        System.out.println("Generated JWT Token: " + jwtToken);
-
      String cookieValue = "jwtToken=" + jwtToken
                 + "; HttpOnly; Secure; SameSite=None; Path=/; Max-Age=86400";
         response.setHeader("Set-Cookie", cookieValue); // ✅ Set manually
 
 
-        logger.info("OAuth2 User Attributes: " + oAuth2User.getAttributes());
+        logger.debug("OAuth2 login for GitHub user {}", githubUsername);
         GithubScoreRequest githubScoreRequest = new GithubScoreRequest();
         githubScoreRequest.setEmail(user.getEmail());
         // Decrypt token when needed
         String decryptedToken = EncryptionUtil.decrypt(user.getGithubAccessToken(), SECRET_KEY);
         githubScoreRequest.setAccessToken(decryptedToken);
         githubScoreRequest.setUsername(user.getGithubUsername());
-        System.out.println("decrepted github access token"+decryptedToken);
-        System.out.println(githubScoreRequest);
-        logger.info("Github Framework: " + githubScoreRequest);
         rabbitMqProducer.sendUserToQueue(githubScoreRequest);
 
 
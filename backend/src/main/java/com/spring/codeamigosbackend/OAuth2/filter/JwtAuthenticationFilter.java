@@ -1,7 +1,8 @@
 package com.spring.codeamigosbackend.OAuth2.filter;
 
 import com.spring.codeamigosbackend.OAuth2.util.JwtUtil;
-import io.jsonwebtoken.Claims;
+import com.spring.codeamigosbackend.OAuth2.util.VerifiedTokenCache;
+import com.spring.codeamigosbackend.monitoring.LogSampler;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
@@ -25,6 +26,8 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    // Successful authentications happen on every request, so only every 100th one is logged
+    private static final LogSampler AUTH_LOG_SAMPLER = new LogSampler(100);
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -36,23 +39,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        logger.info("Starting filter for request URI: {}", request.getRequestURI());
-
         // Try to get token from Authorization header
         String token = null;
         final String header = request.getHeader("Authorization");
-        logger.info("Authorization header: {}", header);
 
         if (header != null && header.startsWith("Bearer ")) {
             token = header.substring(7);
-            logger.info("JWT token found in Authorization header.");
         } else {
             // If no token in header, try to get it from cookie named "jwtToken"
             if (request.getCookies() != null) {
                 for (Cookie cookie : request.getCookies()) {
                     if ("jwtToken".equals(cookie.getName())) {
                         token = cookie.getValue();
-                        logger.info("JWT token found in cookie.");
                         break;
                     }
                 }
@@ -60,28 +58,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (token == null || token.isBlank()) {
-            logger.info("No JWT token found, continuing filter chain.");
+            logger.debug("No JWT token found for {}", request.getRequestURI());
             filterChain.doFilter(request, response);
             return;
         }
 
-        logger.info("Extracted token: {}", token);
-
         try {
-            Claims claims = JwtUtil.validateToken(token);
-            logger.info("Token validated successfully.");
+            VerifiedTokenCache.VerifiedToken verified = JwtUtil.verifyCached(token);
 
-            String userId = claims.getSubject();
-            String status = (String) claims.get("status"); // expected "paid" or "not paid"
-            logger.info("Extracted userId: {}", userId);
-            logger.info("Extracted status before normalization: {}", status);
-
-            if (status != null) {
-                status = status.trim().toUpperCase().replace(" ", "_"); // normalize to "PAID" or "NOT_PAID"
-            } else {
-                status = "NOT_PAID"; // default fallback if missing
-            }
-            logger.info("Normalized status/authority: {}", status);
+            String userId = verified.claims().getSubject();
+            String status = verified.authority(); // "PAID" or "NOT_PAID"
 
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     userId,
@@ -90,7 +76,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            logger.info("Authentication set in SecurityContextHolder.");
+            if (logger.isInfoEnabled() && AUTH_LOG_SAMPLER.sample()) {
+                logger.info("auth=ok uri={} userId={} authority={}", request.getRequestURI(), userId, status);
+            }
 
         } catch (ExpiredJwtException e) {
             logger.warn("JWT token is expired: {}", e.getMessage());
@@ -106,7 +94,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             SecurityContextHolder.clearContext();
         }
 
-        logger.info("Continuing filter chain.");
         filterChain.doFilter(request, response);
     }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import com.spring.codeamigosbackend.OAuth2.util.EncryptionUtil;
 import com.spring.codeamigosbackend.registration.model.User;
 import com.spring.codeamigosbackend.registration.repository.UserRepository;
 import io.github.cdimascio.dotenv.Dotenv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
@@ -26,11 +28,12 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     @Autowired
     private UserRepository userRepository;
 
+    private static final Logger logger = LoggerFactory.getLogger(CustomOAuth2UserService.class);
+
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
       OAuth2User oAuth2User = super.loadUser(userRequest);
 
-        System.out.println("custom user detail service: " + oAuth2User);
         Map<String, Object> attributes = oAuth2User.getAttributes();
 
         int githubId = (int) attributes.get("id");
@@ -54,11 +57,10 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 //            user.setEmail(email != null ? email : githubLogin + "@github.com");
             user.setProfileComplete(false); // Mark incomplete so frontend shows registration form
         }
-        System.out.println(user.getGithubAccessToken());
         // Encrypt token before saving
         String encryptedToken = EncryptionUtil.encrypt(accessToken, SECRET_KEY);
         user.setGithubAccessToken(encryptedToken); // <-- Replace direct assignment
-        System.out.println("encrypted github access token"+encryptedToken);
+        logger.debug("Stored GitHub access token for {}", githubLogin);
         // Save any updates (token, avatar, etc.)
         userRepository.save(user);
 
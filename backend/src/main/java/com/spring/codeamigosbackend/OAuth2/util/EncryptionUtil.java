@@ -1,38 +1,50 @@
 package com.spring.codeamigosbackend.OAuth2.util;
 import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EncryptionUtil {
 
-    public static String encrypt(String plaintext, String secret) {
-        try {
-            // Generate 256-bit key from secret
-            byte[] keyBytes = MessageDigest.getInstance("SHA-256")
-                    .digest(secret.getBytes(StandardCharsets.UTF_8));
+    // New values are written as "v2:" + Base64(IV + AES-GCM ciphertext and tag).
+    // Values without the prefix are the original Base64(IV + AES-CBC ciphertext) and still decrypt.
+    private static final String GCM_PREFIX = "v2:";
+    private static final int GCM_IV_LENGTH = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final int CBC_IV_LENGTH = 16;
+
+    // One SecureRandom for all encryptions, it is thread-safe
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
-            SecretKeySpec secretKey = new SecretKeySpec(keyBytes, "AES");
+    // The SHA-256 derived AES key per secret, computed once
+    private static final Map<String, SecretKeySpec> DERIVED_KEYS = new ConcurrentHashMap<>();
 
-            // Generate random IV
-            byte[] ivBytes = new byte[16];
-            new SecureRandom().nextBytes(ivBytes);
-            IvParameterSpec iv = new IvParameterSpec(ivBytes);
+    // Cipher instances are not thread-safe but can be re-initialised, so keep one per thread and mode
+    private static final ThreadLocal<Cipher> GCM_CIPHER = ThreadLocal.withInitial(() -> newCipher("AES/GCM/NoPadding"));
+    private static final ThreadLocal<Cipher> CBC_CIPHER = ThreadLocal.withInitial(() -> newCipher("AES/CBC/PKCS5Padding"));
 
-            // Encrypt
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, iv);
-            byte[] encrypted = cipher.doFinal(plaintext.getBytes());
+    public static String encrypt(String plaintext, String secret) {
+        try {
+            byte[] ivBytes = new byte[GCM_IV_LENGTH];
+            SECURE_RANDOM.nextBytes(ivBytes);
+
+            Cipher cipher = GCM_CIPHER.get();
+            cipher.init(Cipher.ENCRYPT_MODE, keyFor(secret), new GCMParameterSpec(GCM_TAG_BITS, ivBytes));
+            byte[] encrypted = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
 
             // Combine IV + encrypted data
             byte[] combined = new byte[ivBytes.length + encrypted.length];
             System.arraycopy(ivBytes, 0, combined, 0, ivBytes.length);
             System.arraycopy(encrypted, 0, combined, ivBytes.length, encrypted.length);
 
-            return Base64.getEncoder().encodeToString(combined);
+            return GCM_PREFIX + Base64.getEncoder().encodeToString(combined);
         } catch (Exception e) {
             throw new RuntimeException("Encryption failed", e);
         }
@@ -40,31 +52,43 @@ public class EncryptionUtil {
 
     public static String decrypt(String ciphertext, String secret) {
         try {
-            // Decode Base64
-            byte[] combined = Base64.getDecoder().decode(ciphertext);
-
-            // Extract IV (first 16 bytes)
-            byte[] ivBytes = new byte[16];
-            System.arraycopy(combined, 0, ivBytes, 0, ivBytes.length);
-            IvParameterSpec iv = new IvParameterSpec(ivBytes);
-
-            // Extract encrypted data
-            byte[] encrypted = new byte[combined.length - ivBytes.length];
-            System.arraycopy(combined, ivBytes.length, encrypted, 0, encrypted.length);
+            if (ciphertext.startsWith(GCM_PREFIX)) {
+                byte[] combined = Base64.getDecoder().decode(ciphertext.substring(GCM_PREFIX.length()));
+                Cipher cipher = GCM_CIPHER.get();
+                cipher.init(Cipher.DECRYPT_MODE, keyFor(secret), new GCMParameterSpec(GCM_TAG_BITS, combined, 0, GCM_IV_LENGTH));
+                byte[] decrypted = cipher.doFinal(combined, GCM_IV_LENGTH, combined.length - GCM_IV_LENGTH);
+                return new String(decrypted, StandardCharsets.UTF_8);
+            }
 
-            // Generate key
-            byte[] keyBytes = MessageDigest.getInstance("SHA-256")
-                    .digest(secret.getBytes(StandardCharsets.UTF_8));
-            SecretKeySpec secretKey = new SecretKeySpec(keyBytes, "AES");
-
-            // Decrypt
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, iv);
-            byte[] decrypted = cipher.doFinal(encrypted);
+            // Legacy CBC value: IV is the first 16 bytes
+            byte[] combined = Base64.getDecoder().decode(ciphertext);
+            Cipher cipher = CBC_CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, keyFor(secret), new IvParameterSpec(combined, 0, CBC_IV_LENGTH));
+            byte[] decrypted = cipher.doFinal(combined, CBC_IV_LENGTH, combined.length - CBC_IV_LENGTH);
 
             return new String(decrypted, StandardCharsets.UTF_8);
         } catch (Exception e) {
             throw new RuntimeException("Decryption failed", e);
         }
     }
+
+    private static SecretKeySpec keyFor(String secret) {
+        return DERIVED_KEYS.computeIfAbsent(secret, s -> {
+            try {
+                // Generate 256-bit key from secret
+                byte[] keyBytes = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+                return new SecretKeySpec(keyBytes, "AES");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        });
+    }
+
+    private static Cipher newCipher(String transformation) {
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cipher " + transformation + " not available", e);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.spring.codeamigosbackend.OAuth2.util;
 import io.github.cdimascio.dotenv.Dotenv;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,6 +17,9 @@ public class JwtUtil {
 private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();     private static final String SECRET_KEY = dotenv.get("JWT_SECRET_KEY"); // Store in env variable
     private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
     private static final long EXPIRATION_TIME = 5 * 24 * 60 * 60 * 1000; // 5 days
+    // JwtParser is immutable and thread-safe, build it once instead of per request
+    private static final JwtParser PARSER = Jwts.parser().verifyWith(KEY).build();
+    private static final VerifiedTokenCache VERIFIED_TOKENS = new VerifiedTokenCache(10_000);
 
     public static String generateToken(String id, String username, String email,String status) {
         Map<String, Object> claims = new HashMap<>();
@@ -34,11 +38,32 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
     }
 
     public static Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(KEY)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return PARSER.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Same as {@link #validateToken(String)} but remembers the result until the token expires,
+     * so repeated requests with the same token skip parsing and signature verification.
+     * Like the token itself, the cached claims (the status authority included) stay valid until it expires;
+     * a status change only takes effect with a newly issued token.
+     * @param token The raw JWT
+     * @return The verified claims with the normalized status authority
+     */
+    public static VerifiedTokenCache.VerifiedToken verifyCached(String token) {
+        VerifiedTokenCache.VerifiedToken cached = VERIFIED_TOKENS.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = validateToken(token);
+        return VERIFIED_TOKENS.put(token, claims, normalizeStatus((String) claims.get("status")));
+    }
+
+    // "paid" / "not paid" -> "PAID" / "NOT_PAID"
+    public static String normalizeStatus(String status) {
+        if (status == null) {
+            return "NOT_PAID"; // default fallback if missing
+        }
+        return status.trim().toUpperCase().replace(" ", "_");
     }
 
 
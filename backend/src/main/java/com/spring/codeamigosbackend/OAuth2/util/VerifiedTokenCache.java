@@ -0,0 +1,93 @@
+package com.spring.codeamigosbackend.OAuth2.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already verified JWTs, keyed by the SHA-256 of the token so raw tokens are never kept.
+ * Each entry expires with its token's own {@code exp}; when the cache is full the least recently
+ * and frequently used tokens are evicted, so new tokens are always cached.
+ */
+public class VerifiedTokenCache {
+
+    public record VerifiedToken(Claims claims, String authority, long expiresAtMillis) {
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Cache<String, VerifiedToken> entries;
+
+    public VerifiedTokenCache(int maxEntries) {
+        this(maxEntries, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    // Tests pass Runnable::run so evictions happen before put returns
+    VerifiedTokenCache(int maxEntries, Ticker ticker, Executor maintenance) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new TokenExpiry())
+                .ticker(ticker)
+                .executor(maintenance)
+                .build();
+    }
+
+    public VerifiedToken get(String token) {
+        return entries.getIfPresent(hash(token));
+    }
+
+    public VerifiedToken put(String token, Claims claims, String authority) {
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(claims, authority,
+                expiration != null ? expiration.getTime() : System.currentTimeMillis());
+        entries.put(hash(token), verified);
+        return verified;
+    }
+
+    // Runs pending evictions first, for tests
+    long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    // Lifetime is whatever is left of the token when it is cached, reads and updates do not extend it
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
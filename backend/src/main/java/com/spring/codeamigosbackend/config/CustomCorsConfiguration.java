@@ -17,6 +17,8 @@ public class CustomCorsConfiguration implements CorsConfigurationSource {
         config.setAllowedHeaders(List.of("*"));
         config.setAllowCredentials(true);
         config.addExposedHeader("Authorization");
+        // Version of a patched user profile, sent back as If-Match
+        config.addExposedHeader("ETag");
         return config;
     }
 }
@@ -0,0 +1,300 @@
+package com.spring.codeamigosbackend.config;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.hackathon.repository.HackathonRepository;
+import com.spring.codeamigosbackend.personalchat.model.ChatMessage;
+import com.spring.codeamigosbackend.personalchat.model.Message;
+import com.spring.codeamigosbackend.personalchat.model.PersonalChat;
+import com.spring.codeamigosbackend.personalchat.service.PersonalChatService;
+import com.spring.codeamigosbackend.registration.model.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the indexes the repository queries rely on. Spring Boot does not auto-create
+ * indexes from the mapping annotations, so they are ensured here once the app is up.
+ * Afterwards the list query shapes of HackathonRepository are explained and any shape
+ * that would still scan the whole collection is reported (or fails startup, see
+ * {@code mongo.index-verification.fail-on-collscan}); MongoIndexConfigTest runs the same check in the build.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongo.index-verification.fail-on-collscan:false}")
+    private boolean failOnCollectionScan;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        backfillHackathonLocationPoints();
+        ensureAnnotatedIndexes(Hackathon.class);
+        ensureAnnotatedIndexes(User.class);
+        ensureAnnotatedIndexes(ChatMessage.class);
+        backfillPersonalChatPairKeys();
+        ensureAnnotatedIndexes(PersonalChat.class);
+        verifyHackathonQueryPlans();
+    }
+
+    // Creates every index declared on the entity (@Indexed, @CompoundIndex, @GeoSpatialIndexed, @TextIndexed).
+    // One index that cannot be built (e.g. duplicates under a unique key) is logged and does not block the others.
+    private void ensureAnnotatedIndexes(Class<?> entityType) {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        IndexOperations indexOps = mongoTemplate.indexOps(entityType);
+        resolver.resolveIndexFor(entityType).forEach(index -> {
+            try {
+                indexOps.ensureIndex(index);
+            } catch (RuntimeException e) {
+                logger.warn("Could not create index {} on {}: {}", index.getIndexKeys(), entityType.getSimpleName(), e.getMessage());
+            }
+        });
+    }
+
+    private void verifyHackathonQueryPlans() {
+        List<String> collectionScans = findHackathonCollectionScans();
+        if (collectionScans.isEmpty()) {
+            logger.info("All hackathon list queries are served by an index");
+            return;
+        }
+        String message = "Hackathon queries fall back to a collection scan: " + collectionScans;
+        if (failOnCollectionScan) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+
+    /**
+     * Explains every hackathon list query shape, the derived date finders as well as the keyset
+     * {@code @Query} methods of HackathonRepository, against the current indexes.
+     *
+     * @return Names of the shapes whose winning plan scans the whole collection
+     */
+    List<String> findHackathonCollectionScans() {
+        String collection = mongoTemplate.getCollectionName(Hackathon.class);
+        List<String> collectionScans = new ArrayList<>();
+        hackathonQueryShapes().forEach((name, shape) -> {
+            Document explain = new Document("explain", new Document("find", collection)
+                    .append("filter", shape[0])
+                    .append("sort", shape[1]))
+                    .append("verbosity", "queryPlanner");
+            try {
+                Document result = mongoTemplate.getDb().runCommand(explain);
+                Document queryPlanner = result.get("queryPlanner", Document.class);
+                if (queryPlanner != null && containsStage(queryPlanner.get("winningPlan"), "COLLSCAN")) {
+                    collectionScans.add(name);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not explain the {} hackathon query: {}", name, e.getMessage());
+            }
+        });
+        return collectionScans;
+    }
+
+    // Filter and sort of each query, keyed by a readable name
+    private static Map<String, Document[]> hackathonQueryShapes() {
+        Date now = new Date();
+        Document startAscending = new Document("registrationDates.start", 1).append("_id", 1);
+
+        Map<String, Document[]> shapes = new LinkedHashMap<>();
+        shapes.put("active", new Document[]{
+                new Document("registrationDates.end", new Document("$gt", now)), startAscending});
+        shapes.put("upcoming", new Document[]{
+                new Document("registrationDates.start", new Document("$gt", now)), startAscending});
+        shapes.put("ongoing", new Document[]{
+                new Document("registrationDates.start", new Document("$lt", now))
+                        .append("registrationDates.end", new Document("$gt", now)), startAscending});
+        shapes.put("past", new Document[]{
+                new Document("registrationDates.end", new Document("$lt", now)),
+                new Document("registrationDates.end", -1).append("_id", -1)});
+
+        // The keyset queries are taken from the annotations themselves so this check cannot drift from them
+        Arrays.stream(HackathonRepository.class.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(org.springframework.data.mongodb.repository.Query.class))
+                .sorted(Comparator.comparing(Method::getName))
+                .forEach(method -> {
+                    org.springframework.data.mongodb.repository.Query query =
+                            method.getAnnotation(org.springframework.data.mongodb.repository.Query.class);
+                    String filter = query.value();
+                    Class<?>[] parameterTypes = method.getParameterTypes();
+                    // Highest index first so ?1 does not clobber ?10
+                    for (int i = parameterTypes.length - 1; i >= 0; i--) {
+                        String sample = sampleParameter(parameterTypes[i], now);
+                        if (sample != null) {
+                            filter = filter.replace("?" + i, sample);
+                        }
+                    }
+                    shapes.put(method.getName(), new Document[]{Document.parse(filter), Document.parse(query.sort())});
+                });
+        return shapes;
+    }
+
+    // Extended JSON for a bound @Query parameter, null for parameters that are not part of the filter (Pageable)
+    private static String sampleParameter(Class<?> type, Date now) {
+        if (type == LocalDateTime.class) {
+            return "{ '$date': { '$numberLong': '" + now.getTime() + "' } }";
+        }
+        if (type == ObjectId.class) {
+            return "{ '$oid': '" + new ObjectId().toHexString() + "' }";
+        }
+        return null;
+    }
+
+    // Walks the plan tree (inputStage / inputStages / queryPlan) looking for the given stage
+    private static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            for (Object value : document.values()) {
+                if (containsStage(value, stage)) {
+                    return true;
+                }
+            }
+        } else if (plan instanceof List<?> list) {
+            for (Object value : list) {
+                if (containsStage(value, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Chats created before pairKey existed. Must run before the unique index is built. A pair that got
+    // several chats from the old check-then-insert race is merged into one, so no history is left behind
+    private void backfillPersonalChatPairKeys() {
+        Query missing = new Query(Criteria.where("pairKey").exists(false)
+                .and("member1Id").ne(null)
+                .and("member2Id").ne(null));
+        missing.fields().include("member1Id").include("member2Id");
+        missing.with(Sort.by("_id"));
+
+        List<PersonalChat> chats = mongoTemplate.find(missing, PersonalChat.class);
+        if (chats.isEmpty()) {
+            return;
+        }
+        Map<String, List<String>> idsByPair = new LinkedHashMap<>();
+        for (PersonalChat chat : chats) {
+            idsByPair.computeIfAbsent(PersonalChat.pairKeyOf(chat.getMember1Id(), chat.getMember2Id()), key -> new ArrayList<>())
+                    .add(chat.getId());
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PersonalChat.class);
+        int keyed = 0;
+        int merged = 0;
+        int skipped = 0;
+        for (Map.Entry<String, List<String>> pair : idsByPair.entrySet()) {
+            List<String> ids = new ArrayList<>(pair.getValue());
+            PersonalChat keyedChat = mongoTemplate.findOne(Query.query(Criteria.where("pairKey").is(pair.getKey())), PersonalChat.class);
+            if (keyedChat != null) {
+                ids.add(keyedChat.getId());
+            }
+            if (ids.size() == 1) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(ids.get(0))), Update.update("pairKey", pair.getKey()));
+                keyed++;
+            } else if (mergePersonalChats(pair.getKey(), ids)) {
+                merged += ids.size() - 1;
+            } else {
+                skipped += ids.size();
+            }
+        }
+        if (keyed > 0) {
+            bulk.execute();
+        }
+        logger.info("Backfilled pairKey for {} personal chats, merged {} duplicate chats into them", keyed, merged);
+        if (skipped > 0) {
+            logger.warn("{} personal chats duplicate a member pair but still embed their messages; merged on a later start", skipped);
+        }
+    }
+
+    /**
+     * Moves the history of every chat of the pair into one of them and deletes the rest. The oldest chat
+     * with history is kept, so an empty chat created by the race never wins over the one holding the messages.
+     * Each step can be repeated, a start interrupted halfway picks the same chat again.
+     *
+     * @return False when a chat still embeds its messages, PersonalChatMessageMigration has to move them first
+     */
+    private boolean mergePersonalChats(String pairKey, List<String> ids) {
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").in(ids).and("messages").exists(true)), PersonalChat.class)) {
+            return false;
+        }
+        List<PersonalChat> chats = mongoTemplate.find(Query.query(Criteria.where("_id").in(ids)).with(Sort.by("_id")), PersonalChat.class);
+        PersonalChat kept = chats.stream()
+                .filter(chat -> mongoTemplate.exists(Query.query(Criteria.where("chatId").is(chat.getId())), ChatMessage.class))
+                .findFirst()
+                .orElse(chats.get(0));
+        List<String> duplicateIds = chats.stream().map(PersonalChat::getId).filter(id -> !id.equals(kept.getId())).toList();
+
+        mongoTemplate.updateMulti(Query.query(Criteria.where("chatId").in(duplicateIds)),
+                Update.update("chatId", kept.getId()), ChatMessage.class);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(duplicateIds)), PersonalChat.class);
+
+        // Preview and unread counts over the merged history
+        Query newest = Query.query(Criteria.where("chatId").is(kept.getId()))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .limit(PersonalChatService.RECENT_MESSAGES);
+        List<Message> recentMessages = new ArrayList<>(mongoTemplate.find(newest, ChatMessage.class).stream().map(ChatMessage::toMessage).toList());
+        Collections.reverse(recentMessages);
+        Map<String, Integer> unreadCounts = new HashMap<>();
+        for (PersonalChat chat : chats) {
+            if (chat.getUnreadCounts() != null) {
+                chat.getUnreadCounts().forEach((memberId, count) -> unreadCounts.merge(memberId, count, Integer::sum));
+            }
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(kept.getId())),
+                Update.update("pairKey", pairKey).set("recentMessages", recentMessages).set("unreadCounts", unreadCounts),
+                PersonalChat.class);
+        logger.info("Merged {} personal chats of the same member pair into {}", duplicateIds.size(), kept.getId());
+        return true;
+    }
+
+    // Hackathons created before locationPoint existed only have latitude/longitude
+    private void backfillHackathonLocationPoints() {
+        Query missing = new Query(Criteria.where("locationPoint").exists(false)
+                .and("latitude").ne(null)
+                .and("longitude").ne(null));
+        missing.fields().include("latitude").include("longitude");
+
+        List<Hackathon> hackathons = mongoTemplate.find(missing, Hackathon.class);
+        for (Hackathon hackathon : hackathons) {
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(hackathon.getId())),
+                    Update.update("locationPoint", new GeoJsonPoint(hackathon.getLongitude(), hackathon.getLatitude())),
+                    Hackathon.class);
+        }
+        if (!hackathons.isEmpty()) {
+            logger.info("Backfilled locationPoint for {} hackathons", hackathons.size());
+        }
+    }
+}
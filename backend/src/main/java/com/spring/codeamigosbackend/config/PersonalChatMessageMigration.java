@@ -0,0 +1,134 @@
+package com.spring.codeamigosbackend.config;
+
+import com.spring.codeamigosbackend.personalchat.model.ChatMessage;
+import com.spring.codeamigosbackend.personalchat.model.PersonalChat;
+import com.spring.codeamigosbackend.personalchat.service.PersonalChatService;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves messages embedded in personal_chat documents into personal_chat_messages.
+ * Each chat is copied and then its array is unset. Copied messages get ids derived from the
+ * chat id and their position, so a run interrupted between the two steps can simply be repeated.
+ * Messages stored without a timestamp get one, so the keyset history pages can reach them.
+ */
+@Component
+@RequiredArgsConstructor
+public class PersonalChatMessageMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonalChatMessageMigration.class);
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    // Before MongoIndexConfig, which only merges duplicate chats once their messages have been moved
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        String chatCollection = mongoTemplate.getCollectionName(PersonalChat.class);
+        Query legacy = new Query(Criteria.where("messages").exists(true));
+        legacy.fields().include("messages");
+
+        int chats = 0;
+        int messages = 0;
+        try (Stream<Document> stream = mongoTemplate.stream(legacy, Document.class, chatCollection)) {
+            for (Document chat : (Iterable<Document>) stream::iterator) {
+                messages += migrateChat(chat, chatCollection);
+                chats++;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Personal chat message migration stopped after {} chats: {}", chats, e.getMessage());
+            return;
+        }
+        if (chats > 0) {
+            logger.info("Moved {} messages of {} personal chats to their own collection", messages, chats);
+        }
+    }
+
+    private int migrateChat(Document chat, String chatCollection) {
+        Object rawId = chat.get("_id");
+        String chatId = rawId instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(rawId);
+        List<Document> embedded = chat.getList("messages", Document.class, List.of());
+
+        List<ChatMessage> copies = new ArrayList<>(embedded.size());
+        // Creation time of the chat, the earliest any of its messages can have been sent
+        LocalDateTime previous = rawId instanceof ObjectId objectId
+                ? LocalDateTime.ofInstant(objectId.getDate().toInstant(), ZoneId.systemDefault())
+                : LocalDateTime.ofInstant(Instant.EPOCH, ZoneId.systemDefault());
+        for (int i = 0; i < embedded.size(); i++) {
+            Document message = embedded.get(i);
+            Date sentAt = message.getDate("timestamp");
+            // The array is in send order, so a missing time goes just after the message before it
+            LocalDateTime timestamp = sentAt == null
+                    ? previous.plus(1, ChronoUnit.MILLIS)
+                    : LocalDateTime.ofInstant(sentAt.toInstant(), ZoneId.systemDefault());
+            ChatMessage copy = new ChatMessage(chatId, message.getString("sender"), message.getString("content"), timestamp);
+            // Still from the stored time, so ids match those of a run before timestamps were backfilled
+            copy.setId(legacyMessageId(chatId, i, sentAt));
+            copies.add(copy);
+            previous = timestamp;
+        }
+
+        if (!copies.isEmpty()) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessage.class).insert(copies).execute();
+            } catch (BulkOperationException e) {
+                // Copied by an earlier, interrupted run
+                if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                    throw e;
+                }
+            }
+        }
+        if (!copies.isEmpty()) {
+            // The inbox preview, read without touching the message collection. Only seeded when the chat
+            // has none yet: messages sent since the new code went live have already been pushed into it
+            Query withoutPreview = Query.query(Criteria.where("_id").is(rawId)
+                    .orOperator(Criteria.where("recentMessages").exists(false), Criteria.where("recentMessages").size(0)));
+            mongoTemplate.updateFirst(withoutPreview, new Update().set("recentMessages",
+                    copies.subList(Math.max(0, copies.size() - PersonalChatService.RECENT_MESSAGES), copies.size())
+                            .stream().map(ChatMessage::toMessage).toList()), chatCollection);
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(rawId)), new Update().unset("messages"), chatCollection);
+        return copies.size();
+    }
+
+    // 4 bytes of send time, so ids still sort roughly by time, and 8 bytes of a hash of chat id and position
+    private static String legacyMessageId(String chatId, int index, Date sentAt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest((chatId + ":" + index).getBytes(StandardCharsets.UTF_8));
+            int seconds = sentAt == null ? 0 : (int) (sentAt.getTime() / 1000);
+            byte[] bytes = ByteBuffer.allocate(12).putInt(seconds).put(digest, 0, 8).array();
+            return new ObjectId(bytes).toHexString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.spring.codeamigosbackend.OAuth2.filter.JwtAuthenticationFilter;
 import com.spring.codeamigosbackend.OAuth2.service.CustomOAuth2UserService;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -37,9 +38,14 @@ public class SecurityConfig {
             "/v3/api-docs/**",
             "/swagger-resources/**",
             "/v3/api-docs.yaml",
-            "/swagger-ui.html"
+            "/swagger-ui.html",
+            "/actuator/health"
     };
 
+    // Actuator endpoints (metrics included) are served on this port only, which is not published outside the deployment
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, CustomCorsConfiguration corsConfig) throws Exception {
         http
@@ -50,6 +56,7 @@ public class SecurityConfig {
                                 "/","/api/users/login","/api/users/me", "/register/", "/oauth2/authorization/", "/login/oauth2/code/", "/request/", "/requests/","/api/users/register","/api/users/ping","/put-to-queue"
                         ).permitAll()
                         .requestMatchers(PUBLIC_URLS).permitAll()
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/oauth2/success").authenticated()
                         .requestMatchers("/api/hackathons/recommended-hackathons", "/api/hackathons/nearby-hackathons")
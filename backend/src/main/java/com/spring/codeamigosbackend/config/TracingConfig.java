@@ -0,0 +1,20 @@
+package com.spring.codeamigosbackend.config;
+
+import com.spring.codeamigosbackend.monitoring.FileSpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    // Picked up by Spring Boot's OpenTelemetry auto-configuration next to the OTLP exporter
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file-exporter.path")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.file-exporter.path}") String path) {
+        return new FileSpanExporter(Path.of(path));
+    }
+}
@@ -5,6 +5,8 @@ import com.opencagedata.jopencage.model.JOpenCageForwardRequest;
 import com.opencagedata.jopencage.model.JOpenCageLatLng;
 import com.opencagedata.jopencage.model.JOpenCageResponse;
 import com.opencagedata.jopencage.model.JOpenCageReverseRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +17,7 @@ import java.util.List;
 public class GeolocationService {
     @Value("${open.cage.api}")
     private String apiKey ;
+    private static final Logger logger = LoggerFactory.getLogger(GeolocationService.class);
     public String getLocationFromCoordinates(Double latitude , Double longitude){
 
         JOpenCageGeocoder jOpenCageGeocoder = new JOpenCageGeocoder(apiKey);
@@ -30,19 +33,17 @@ public class GeolocationService {
         // get the formatted address of the first result:
         String formattedAddress = response.getResults().get(0).getFormatted();
         // formattedAddress is now 'Travessera de Gràcia, 142, 08012 Barcelona, España'
-        System.out.println(formattedAddress);
+        logger.debug("Resolved {},{} to {}", latitude, longitude, formattedAddress);
         return formattedAddress;
     }
 
     public List<Double> getCoordinatesFromLocation(String location){
-        System.out.println(location);
         JOpenCageGeocoder jOpenCageGeocoder = new JOpenCageGeocoder(apiKey);
         JOpenCageForwardRequest request = new JOpenCageForwardRequest(location);
 
         JOpenCageResponse response = jOpenCageGeocoder.forward(request);
-        System.out.println(response.getResults().get(0).getFormatted());
         JOpenCageLatLng firstResultLatLng = response.getFirstPosition(); // get the coordinate pair of the first result
-        System.out.println(firstResultLatLng.getLat().toString() + "," + firstResultLatLng.getLng().toString()); // prints -33.9275623,18.4571101
+        logger.debug("Resolved {} to {},{}", location, firstResultLatLng.getLat(), firstResultLatLng.getLng());
         List<Double> coordinates = new ArrayList<>();
         coordinates.add(firstResultLatLng.getLat());
         coordinates.add(firstResultLatLng.getLng());
@@ -2,13 +2,19 @@ package com.spring.codeamigosbackend.hackathon.controller;
 
 import com.cloudinary.Cloudinary;
 import com.spring.codeamigosbackend.hackathon.dto.HackathonDTO;
+import com.spring.codeamigosbackend.hackathon.dto.HackathonPage;
+import com.spring.codeamigosbackend.hackathon.dto.HackathonSummary;
 import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.hackathon.service.HackathonRecommendationService;
+import com.spring.codeamigosbackend.hackathon.service.HackathonSearchService;
 import com.spring.codeamigosbackend.hackathon.service.HackathonService;
 import com.spring.codeamigosbackend.hackathon.service.MailService;
+import com.spring.codeamigosbackend.hackathon.service.TeammateRecommendationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spring.codeamigosbackend.recommendation.utils.ApiResponse;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,7 +22,9 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.security.Principal;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +37,9 @@ public class HackathonController {
     private final Cloudinary cloudinary;
     private final ObjectMapper objectMapper;
     private final MailService mailService;
+    private final HackathonRecommendationService hackathonRecommendationService;
+    private final TeammateRecommendationService teammateRecommendationService;
+    private final HackathonSearchService hackathonSearchService;
 
     @PostMapping
     public ResponseEntity<Hackathon> createHackathon(@RequestParam(value = "logo", required = false) MultipartFile logo,
@@ -53,23 +64,52 @@ public class HackathonController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Hackathon>> getAllActiveHackathons() {
-        return ResponseEntity.ok(hackathonService.getAllActiveHackathons());
+    public ResponseEntity<HackathonPage> getAllActiveHackathons(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int size,
+                                                                Principal viewer) {
+        return ResponseEntity.ok(hackathonService.withJoinStatus(hackathonService.getActiveHackathonPage(cursor, size), viewerId(viewer)));
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<Hackathon>> getUpcomingHackathons() {
-        return ResponseEntity.ok(hackathonService.getUpcomingHackathons());
+    public ResponseEntity<HackathonPage> getUpcomingHackathons(@RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "50") int size,
+                                                               Principal viewer) {
+        return ResponseEntity.ok(hackathonService.withJoinStatus(hackathonService.getUpcomingHackathonPage(cursor, size), viewerId(viewer)));
     }
 
     @GetMapping("/ongoing")
-    public ResponseEntity<List<Hackathon>> getOngoingHackathons() {
-        return ResponseEntity.ok(hackathonService.getOngoingHackathons());
+    public ResponseEntity<HackathonPage> getOngoingHackathons(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") int size,
+                                                              Principal viewer) {
+        return ResponseEntity.ok(hackathonService.withJoinStatus(hackathonService.getOngoingHackathonPage(cursor, size), viewerId(viewer)));
     }
 
     @GetMapping("/past")
-    public ResponseEntity<List<Hackathon>> getPastHackathons() {
-        return ResponseEntity.ok(hackathonService.getPastHackathons());
+    public ResponseEntity<HackathonPage> getPastHackathons(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int size,
+                                                           Principal viewer) {
+        return ResponseEntity.ok(hackathonService.withJoinStatus(hackathonService.getPastHackathonPage(cursor, size), viewerId(viewer)));
+    }
+
+    // The filter authenticates with the user id as principal
+    private static String viewerId(Principal viewer) {
+        return viewer != null ? viewer.getName() : null;
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<HackathonSummary>> searchHackathons(@RequestParam String q,
+                                                                   @RequestParam(required = false) String mode,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                   @RequestParam(defaultValue = "false") boolean activeOnly,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(hackathonSearchService.search(q, mode, from, to, activeOnly, size));
+    }
+
+    @GetMapping("/search/autocomplete")
+    public ResponseEntity<List<HackathonSummary>> autocompleteHackathons(@RequestParam String prefix,
+                                                                         @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(hackathonSearchService.autocomplete(prefix, size));
     }
 
     @GetMapping("/{id}")
@@ -98,15 +138,26 @@ public class HackathonController {
     @GetMapping("/nearby-hackathons")
     public ResponseEntity<List<Hackathon>> getNearbyHackathons(  @RequestParam(required = true) Double latitude,
                                                                  @RequestParam(required = true) Double longitude,
-                                                                 @RequestParam(required = false)Double radius
+                                                                 @RequestParam(required = false)Double radius,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "100") int size
                                                                  ) {
-        List<Hackathon> activeHackathons =  this.hackathonService.findNearbyHackathons(latitude, longitude,radius);
+        List<Hackathon> activeHackathons =  this.hackathonService.findNearbyHackathons(latitude, longitude, radius, page, size);
         return ResponseEntity.ok(activeHackathons);
     }
     @PreAuthorize("hasAuthority('PAID')")
     @GetMapping("/recommended-hackathons")
-    public ResponseEntity<List<HackathonService.ScoredHackathon>> recommendHackathonsToUser(@RequestParam(required = true) String username) {
-        return ResponseEntity.ok(this.hackathonService.recommendHackathons(username));
+    public ResponseEntity<List<HackathonService.ScoredHackathon>> recommendHackathonsToUser(@RequestParam(required = true) String username,
+                                                                                           @RequestParam(defaultValue = "0") int page,
+                                                                                           @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(this.hackathonRecommendationService.getRecommendations(username, page, size));
+    }
+
+    @PreAuthorize("hasAuthority('PAID')")
+    @GetMapping("/{id}/teammates")
+    public ResponseEntity<List<TeammateRecommendationService.TeammateSuggestion>> recommendTeammates(@PathVariable String id,
+                                                                                                     @RequestParam(defaultValue = "5") int size) {
+        return ResponseEntity.ok(this.teammateRecommendationService.recommendTeammates(id, size));
     }
 
 }
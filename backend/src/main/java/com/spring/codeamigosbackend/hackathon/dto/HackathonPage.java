@@ -0,0 +1,19 @@
+package com.spring.codeamigosbackend.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a hackathon listing. Pass {@code nextCursor} back as {@code cursor} to get the
+ * following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HackathonPage {
+    private List<HackathonSummary> items;
+    private String nextCursor;
+}
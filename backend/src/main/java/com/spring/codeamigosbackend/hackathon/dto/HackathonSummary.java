@@ -0,0 +1,80 @@
+package com.spring.codeamigosbackend.hackathon.dto;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * What the hackathon list pages need to render a card. Leaves out {@code about} and the
+ * join request lists, which are only loaded with the full document on {@code /api/hackathons/{id}};
+ * the list endpoints fill in {@link #joinStatus} for the viewer instead.
+ */
+@Data
+public class HackathonSummary {
+    private String id;
+    private String logo;
+    private String title;
+    private String organization;
+    private String theme;
+    private String location;
+    private String mode;
+    private Hackathon.TeamSize teamSize;
+    private Hackathon.RegistrationDates registrationDates;
+    private Hackathon.HackathonDates hackathonDates;
+    private String createdBy;
+    private int currentTeamSize;
+    private List<String> techStacks;
+    // Where the viewer stands with this hackathon, null when the summary is not for a particular viewer
+    private JoinStatus joinStatus;
+
+    public enum JoinStatus {
+        OPEN, PENDING, ACCEPTED, REJECTED, FULL, CREATOR
+    }
+
+    public static HackathonSummary from(Hackathon hackathon) {
+        HackathonSummary summary = new HackathonSummary();
+        summary.setId(hackathon.getId());
+        summary.setLogo(hackathon.getLogo());
+        summary.setTitle(hackathon.getTitle());
+        summary.setOrganization(hackathon.getOrganization());
+        summary.setTheme(hackathon.getTheme());
+        summary.setLocation(hackathon.getLocation());
+        summary.setMode(hackathon.getMode());
+        summary.setTeamSize(hackathon.getTeamSize());
+        summary.setRegistrationDates(hackathon.getRegistrationDates());
+        summary.setHackathonDates(hackathon.getHackathonDates());
+        summary.setCreatedBy(hackathon.getCreatedBy());
+        summary.setCurrentTeamSize(hackathon.getCurrentTeamSize());
+        summary.setTechStacks(hackathon.getTechStacks());
+        return summary;
+    }
+
+    /**
+     * Same precedence as the details page: own post, then a decided request, then a pending one.
+     * @param username The viewer's username, as stored in the request lists
+     */
+    public static JoinStatus joinStatusOf(Hackathon hackathon, String username) {
+        if (username.equals(hackathon.getCreatedBy())) {
+            return JoinStatus.CREATOR;
+        }
+        if (contains(hackathon.getAcceptedUsers(), username)) {
+            return JoinStatus.ACCEPTED;
+        }
+        if (contains(hackathon.getRejectedUsers(), username)) {
+            return JoinStatus.REJECTED;
+        }
+        if (contains(hackathon.getRequestsToJoin(), username)) {
+            return JoinStatus.PENDING;
+        }
+        Hackathon.TeamSize teamSize = hackathon.getTeamSize();
+        if (teamSize != null && hackathon.getCurrentTeamSize() >= teamSize.getMax()) {
+            return JoinStatus.FULL;
+        }
+        return JoinStatus.OPEN;
+    }
+
+    private static boolean contains(List<String> usernames, String username) {
+        return usernames != null && usernames.contains(username);
+    }
+}
@@ -0,0 +1,8 @@
+package com.spring.codeamigosbackend.hackathon.event;
+
+/**
+ * Published by the catalog when the set of hackathons open for registration changed,
+ * i.e. one was created, opened or closed.
+ */
+public record ActiveHackathonsChangedEvent(long catalogVersion) {
+}
@@ -0,0 +1,10 @@
+package com.spring.codeamigosbackend.hackathon.event;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+
+/**
+ * Published after a hackathon document was saved, carrying the saved state.
+ * In-memory views of the hackathon collection listen to this to stay in sync on this node.
+ */
+public record HackathonChangedEvent(Hackathon hackathon) {
+}
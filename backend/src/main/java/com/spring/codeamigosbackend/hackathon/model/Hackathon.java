@@ -1,7 +1,14 @@
 package com.spring.codeamigosbackend.hackathon.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -9,13 +16,24 @@ import java.util.List;
 
 @Data
 @Document(collection = "hackathons")
+@CompoundIndexes({
+        // Sort key of the active/upcoming/ongoing lists with _id as tie-breaker; end is in the keys so it is filtered without a fetch
+        @CompoundIndex(name = "registration_start_id_end", def = "{ 'registrationDates.start': 1, '_id': 1, 'registrationDates.end': 1 }"),
+        // Past hackathons, latest registration end first
+        @CompoundIndex(name = "registration_end_id", def = "{ 'registrationDates.end': -1, '_id': -1 }")
+})
 public class Hackathon {
     @Id
     private String id;
     private String logo; // Will store the file path or URL
+    // Text index for /search, a title hit counts most
+    @TextIndexed(weight = 10)
     private String title;
+    @TextIndexed(weight = 5)
     private String organization;
+    @TextIndexed(weight = 3)
     private String theme;
+    @TextIndexed
     private String location;
     private String mode;
     private String about;
@@ -27,9 +45,14 @@ public class Hackathon {
     private String createdBy;
     private String createdById;
     private int currentTeamSize;
+    @TextIndexed(weight = 3)
     private List<String> techStacks;
     private Double latitude;
     private Double longitude;
+    // GeoJSON copy of latitude/longitude for $geoNear queries; clients keep using latitude/longitude
+    @JsonIgnore
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint locationPoint;
 
     @Data
     public static class TeamSize {
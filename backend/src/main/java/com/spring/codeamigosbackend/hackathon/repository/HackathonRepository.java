@@ -1,6 +1,12 @@
 package com.spring.codeamigosbackend.hackathon.repository;
 
+import com.spring.codeamigosbackend.hackathon.dto.HackathonSummary;
 import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,11 +16,38 @@ import java.util.List;
 import java.util.Optional;
 
 public interface HackathonRepository extends MongoRepository<Hackathon, String> {
+    String SUMMARY_FIELDS = "{ 'logo': 1, 'title': 1, 'organization': 1, 'theme': 1, 'location': 1, 'mode': 1, 'teamSize': 1, "
+            + "'registrationDates': 1, 'hackathonDates': 1, 'createdBy': 1, 'currentTeamSize': 1, 'techStacks': 1 }";
+
     Optional<Hackathon> findById(String id);
     List<Hackathon> findByRegistrationDates_EndAfterOrderByRegistrationDates_StartAsc(LocalDateTime now);
     List<Hackathon> findByRegistrationDates_StartBeforeAndRegistrationDates_EndAfterOrderByRegistrationDates_StartAsc(LocalDateTime now, LocalDateTime now1);
     List<Hackathon> findByRegistrationDates_StartAfterOrderByRegistrationDates_StartAsc(LocalDateTime now);
     List<Hackathon> findByRegistrationDates_EndBeforeOrderByRegistrationDates_EndDesc(LocalDateTime now);
- 
+    // Runs as a $geoNear aggregation: results come back sorted by distance with the distance attached
+    GeoPage<Hackathon> findByLocationPointNearAndRegistrationDates_EndAfter(Point location, Distance distance, LocalDateTime now, Pageable pageable);
+
+    // Keyset pages for the list endpoints: everything after the (date, _id) of the previous page's last item.
+    // Pass page 0 of the wanted size as the Pageable, the cursor does the skipping.
+    @Query(value = "{ 'registrationDates.end': { $gt: ?0 }, $or: [ { 'registrationDates.start': { $gt: ?1 } }, "
+            + "{ 'registrationDates.start': ?1, '_id': { $gt: ?2 } } ] }",
+            fields = SUMMARY_FIELDS, sort = "{ 'registrationDates.start': 1, '_id': 1 }")
+    List<HackathonSummary> findActiveSummaries(LocalDateTime now, LocalDateTime afterStart, ObjectId afterId, Pageable pageable);
+
+    @Query(value = "{ 'registrationDates.start': { $gt: ?0 }, $or: [ { 'registrationDates.start': { $gt: ?1 } }, "
+            + "{ 'registrationDates.start': ?1, '_id': { $gt: ?2 } } ] }",
+            fields = SUMMARY_FIELDS, sort = "{ 'registrationDates.start': 1, '_id': 1 }")
+    List<HackathonSummary> findUpcomingSummaries(LocalDateTime now, LocalDateTime afterStart, ObjectId afterId, Pageable pageable);
+
+    @Query(value = "{ 'registrationDates.start': { $lt: ?0 }, 'registrationDates.end': { $gt: ?0 }, "
+            + "$or: [ { 'registrationDates.start': { $gt: ?1 } }, { 'registrationDates.start': ?1, '_id': { $gt: ?2 } } ] }",
+            fields = SUMMARY_FIELDS, sort = "{ 'registrationDates.start': 1, '_id': 1 }")
+    List<HackathonSummary> findOngoingSummaries(LocalDateTime now, LocalDateTime afterStart, ObjectId afterId, Pageable pageable);
+
+    // Past hackathons are listed latest first, so this one walks registrationDates.end/_id downwards
+    @Query(value = "{ 'registrationDates.end': { $lt: ?0 }, $or: [ { 'registrationDates.end': { $lt: ?1 } }, "
+            + "{ 'registrationDates.end': ?1, '_id': { $lt: ?2 } } ] }",
+            fields = SUMMARY_FIELDS, sort = "{ 'registrationDates.end': -1, '_id': -1 }")
+    List<HackathonSummary> findPastSummaries(LocalDateTime now, LocalDateTime beforeEnd, ObjectId beforeId, Pageable pageable);
 
 }
@@ -0,0 +1,248 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.codeamigosbackend.hackathon.dto.HackathonPage;
+import com.spring.codeamigosbackend.hackathon.event.HackathonChangedEvent;
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Caches for single hackathons and list pages.
+ * <p>
+ * Single hackathons go through two tiers: a small in-JVM cache with a short TTL, then Redis
+ * ({@code hackathon:{id}}) shared by all nodes. Concurrent misses for the same id on a node wait
+ * for one load. Redis entries carry their expiry and load time so one reader refreshes them
+ * shortly before they expire (probabilistic early refresh) instead of all readers missing at once.
+ * <p>
+ * List pages live in Redis only under {@code hackathons:{list}:g{generation}:page:{cursor}:{size}}.
+ * The catalog bumps {@code hackathons:generation} whenever it publishes a new snapshot (a save, a
+ * change from another node, a registration window opening or closing), which makes all cached pages
+ * unreachable at once. A request reads the generation once and stores its page only if the
+ * generation has not moved since, so a page cut from an older snapshot never lands under a newer one.
+ * <p>
+ * Values are stored as typed JSON, and Redis failures are logged and treated as a miss.
+ */
+@Component
+public class HackathonCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HackathonCache.class);
+
+    private static final String HACKATHON_KEY_PREFIX = "hackathon:";
+    private static final String LIST_KEY_PREFIX = "hackathons:";
+    private static final String GENERATION_KEY = "hackathons:generation";
+    private static final String FIRST_PAGE = "first";
+    private static final Duration HACKATHON_TTL = Duration.ofHours(24);
+    private static final Duration LIST_PAGE_TTL = Duration.ofMinutes(5);
+    // KEYS: generation, page; ARGV: generation the page was cut under, page JSON, TTL in ms
+    private static final RedisScript<Long> SET_IF_GENERATION = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[1]) or '0') == ARGV[1] then "
+                    + "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3]) return 1 end return 0", Long.class);
+    // Other nodes' local copies are at most this old after a write
+    private static final Duration LOCAL_TTL = Duration.ofSeconds(30);
+    private static final long LOCAL_MAX_ENTRIES = 10_000;
+    // Higher values refresh earlier
+    private static final double EARLY_REFRESH_BETA = 1.0;
+
+    /**
+     * Redis value of {@code hackathon:{id}}.
+     * @param loadMillis How long loading it from Mongo took, scales the early refresh window
+     */
+    public record CachedHackathon(Hackathon hackathon, long expiresAtMillis, long loadMillis) {
+    }
+
+    private final ObjectMapper mapper;
+    private final RedisTemplate<String, CachedHackathon> hackathonTemplate;
+    private final RedisTemplate<String, HackathonPage> pageTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, Hackathon> localHackathons;
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisEarlyRefreshes;
+
+    public HackathonCache(RedisConnectionFactory connectionFactory, StringRedisTemplate stringRedisTemplate, MeterRegistry registry) {
+        this.mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.hackathonTemplate = typedTemplate(connectionFactory, mapper, CachedHackathon.class);
+        this.pageTemplate = typedTemplate(connectionFactory, mapper, HackathonPage.class);
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localHackathons = Caffeine.newBuilder()
+                .maximumSize(LOCAL_MAX_ENTRIES)
+                .expireAfterWrite(LOCAL_TTL)
+                .build();
+
+        this.localHits = cacheCounter(registry, "local", "hit");
+        this.localMisses = cacheCounter(registry, "local", "miss");
+        this.redisHits = cacheCounter(registry, "redis", "hit");
+        this.redisMisses = cacheCounter(registry, "redis", "miss");
+        this.redisEarlyRefreshes = cacheCounter(registry, "redis", "early_refresh");
+    }
+
+    /**
+     * @param loader Reads the hackathon from Mongo, may return null
+     * @return The hackathon, or null if the loader found none
+     */
+    public Hackathon getHackathon(String id, Supplier<Hackathon> loader) {
+        Hackathon local = localHackathons.getIfPresent(id);
+        if (local != null) {
+            localHits.increment();
+            return local;
+        }
+        localMisses.increment();
+        // Concurrent misses for the same id block on this single load; a null result is not cached
+        return localHackathons.get(id, key -> loadThroughRedis(key, loader));
+    }
+
+    /**
+     * Read once per request and passed to both {@link #getListPage} and {@link #putListPage}.
+     * @return The current list page generation, or null when Redis is unavailable
+     */
+    public String listGeneration() {
+        try {
+            String generation = stringRedisTemplate.opsForValue().get(GENERATION_KEY);
+            return generation == null ? "0" : generation;
+        } catch (RuntimeException e) {
+            logger.warn("Redis read of the hackathon list generation failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param list One of active, upcoming, ongoing, past
+     */
+    public HackathonPage getListPage(String list, String generation, String cursor, int size) {
+        try {
+            return pageTemplate.opsForValue().get(listPageKey(list, generation, cursor, size));
+        } catch (RuntimeException e) {
+            logger.warn("Redis read of {} hackathons page failed: {}", list, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the page unless the generation moved on while it was being cut.
+     */
+    public void putListPage(String list, String generation, String cursor, int size, HackathonPage page) {
+        try {
+            stringRedisTemplate.execute(SET_IF_GENERATION, List.of(GENERATION_KEY, listPageKey(list, generation, cursor, size)),
+                    generation, mapper.writeValueAsString(page), String.valueOf(LIST_PAGE_TTL.toMillis()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Redis write of {} hackathons page failed: {}", list, e.getMessage());
+        }
+    }
+
+    // Called by the catalog after it published a new snapshot
+    public void invalidateListPages() {
+        try {
+            stringRedisTemplate.opsForValue().increment(GENERATION_KEY);
+        } catch (RuntimeException e) {
+            logger.warn("Could not invalidate cached hackathon lists: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onHackathonChanged(HackathonChangedEvent event) {
+        Hackathon hackathon = event.hackathon();
+        localHackathons.put(hackathon.getId(), hackathon);
+        writeRedis(hackathon, 0);
+    }
+
+    private Hackathon loadThroughRedis(String id, Supplier<Hackathon> loader) {
+        CachedHackathon cached = readRedis(id);
+        if (cached != null && !shouldRefreshEarly(cached)) {
+            redisHits.increment();
+            return cached.hackathon();
+        }
+        if (cached == null) {
+            redisMisses.increment();
+        } else {
+            redisEarlyRefreshes.increment();
+        }
+
+        long started = System.currentTimeMillis();
+        Hackathon loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            if (cached != null) {
+                // An early refresh that failed can still serve the entry that has not expired yet
+                return cached.hackathon();
+            }
+            throw e;
+        }
+        if (loaded != null) {
+            writeRedis(loaded, System.currentTimeMillis() - started);
+        }
+        return loaded;
+    }
+
+    // XFetch: refresh with a probability that rises as the expiry gets closer than a few load times
+    private static boolean shouldRefreshEarly(CachedHackathon cached) {
+        double gap = Math.max(cached.loadMillis(), 1) * EARLY_REFRESH_BETA * -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= cached.expiresAtMillis();
+    }
+
+    private CachedHackathon readRedis(String id) {
+        try {
+            return hackathonTemplate.opsForValue().get(HACKATHON_KEY_PREFIX + id);
+        } catch (RuntimeException e) {
+            logger.warn("Redis read of hackathon {} failed: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(Hackathon hackathon, long loadMillis) {
+        CachedHackathon value = new CachedHackathon(hackathon, System.currentTimeMillis() + HACKATHON_TTL.toMillis(), loadMillis);
+        try {
+            hackathonTemplate.opsForValue().set(HACKATHON_KEY_PREFIX + hackathon.getId(), value, HACKATHON_TTL);
+        } catch (RuntimeException e) {
+            logger.warn("Redis write of hackathon {} failed: {}", hackathon.getId(), e.getMessage());
+        }
+    }
+
+    private static String listPageKey(String list, String generation, String cursor, int size) {
+        return LIST_KEY_PREFIX + list + ":g" + generation
+                + ":page:" + (cursor == null || cursor.isBlank() ? FIRST_PAGE : cursor) + ":" + size;
+    }
+
+    private static Counter cacheCounter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("hackathon.cache.requests")
+                .description("getHackathonById lookups per cache tier and result")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static <T> RedisTemplate<String, T> typedTemplate(RedisConnectionFactory connectionFactory, ObjectMapper mapper, Class<T> type) {
+        RedisTemplate<String, T> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(mapper, type));
+        template.afterPropertiesSet();
+        return template;
+    }
+}
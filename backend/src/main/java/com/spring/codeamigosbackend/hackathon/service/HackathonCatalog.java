@@ -0,0 +1,378 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.spring.codeamigosbackend.hackathon.event.ActiveHackathonsChangedEvent;
+import com.spring.codeamigosbackend.hackathon.event.HackathonChangedEvent;
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.hackathon.repository.HackathonRepository;
+import com.spring.codeamigosbackend.recommendation.utils.Mappings;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Node-local, immutable snapshot of all hackathons, partitioned by registration window into
+ * upcoming, ongoing and past. Readers grab {@link #current()} and never touch Mongo.
+ * <p>
+ * A new snapshot (with a higher version) is published when a hackathon is saved on this node,
+ * when a change stream on the hackathons collection reports a write (made by any node, or directly
+ * in Mongo), and when a registration window opens or closes (a task is scheduled for the next boundary).
+ * A full reload runs whenever the change stream is (re)opened and periodically as a safety net;
+ * on a standalone Mongo without change streams that periodic reload is all there is.
+ * Every snapshot after the first invalidates the list pages cached in Redis.
+ */
+@Component
+@RequiredArgsConstructor
+public class HackathonCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(HackathonCatalog.class);
+
+    // List orders of the endpoints, with the id as tie-breaker so keyset cursors are unambiguous
+    public static final Comparator<Hackathon> BY_START =
+            Comparator.comparing((Hackathon h) -> h.getRegistrationDates().getStart()).thenComparing(Hackathon::getId);
+    public static final Comparator<Hackathon> BY_END_DESC =
+            Comparator.comparing((Hackathon h) -> h.getRegistrationDates().getEnd()).thenComparing(Hackathon::getId).reversed();
+
+    // Pause before reopening a change stream that failed
+    private static final long CHANGE_STREAM_RETRY_MS = 5_000;
+    // Server error when change streams are used on a standalone server
+    private static final int CHANGE_STREAMS_NOT_SUPPORTED = 40573;
+
+    private final HackathonRepository hackathonRepository;
+    private final MongoTemplate mongoTemplate;
+    private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HackathonCache hackathonCache;
+
+    private volatile Snapshot snapshot;
+    private ScheduledFuture<?> nextTransition;
+    private final ExecutorService changeStreamExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hackathon-change-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean watching;
+    private final Object reloadLock = new Object();
+    // Changes applied while a reload is reading, empty Optional for a delete; guarded by this
+    private Map<String, Optional<Hackathon>> changesDuringReload;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> changeCursor;
+
+    /**
+     * @param active   Registration not closed yet (ongoing and upcoming), by registration start
+     * @param upcoming Registration not opened yet, by registration start
+     * @param ongoing  Registration open right now, by registration start
+     * @param past     Registration closed, latest end first
+     * @param activeByTech Normalized tech stack token to the active hackathons using it
+     * @param activeVectors TF-IDF vectors of the active hackathons' tech stacks
+     * @param activeLocations Spatial grid over the active hackathons' coordinates
+     */
+    public record Snapshot(long version,
+                           LocalDateTime partitionedAt,
+                           Map<String, Hackathon> byId,
+                           List<Hackathon> active,
+                           List<Hackathon> upcoming,
+                           List<Hackathon> ongoing,
+                           List<Hackathon> past,
+                           Map<String, List<Hackathon>> activeByTech,
+                           TechStackVectors activeVectors,
+                           HackathonSpatialIndex activeLocations) {
+    }
+
+    /**
+     * Canonical form of a framework / tech stack name, e.g. "Spring Boot " becomes "springboot".
+     */
+    public static String normalizeTech(String tech) {
+        return Mappings.normalizeFramework(tech);
+    }
+
+    /**
+     * Inverted index of normalized tech stack token to hackathons; a hackathon appears once per token.
+     */
+    public static Map<String, List<Hackathon>> indexByTech(List<Hackathon> hackathons) {
+        Map<String, List<Hackathon>> index = new HashMap<>();
+        for (Hackathon hackathon : hackathons) {
+            if (hackathon.getTechStacks() == null) {
+                continue;
+            }
+            LinkedHashSet<String> tokens = new LinkedHashSet<>();
+            for (String tech : hackathon.getTechStacks()) {
+                if (tech != null && !tech.isBlank()) {
+                    tokens.add(normalizeTech(tech));
+                }
+            }
+            for (String token : tokens) {
+                index.computeIfAbsent(token, t -> new ArrayList<>()).add(hackathon);
+            }
+        }
+        index.replaceAll((token, list) -> List.copyOf(list));
+        return index;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * @return The latest snapshot, or null before the first load finished
+     */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // The first load happens once the change stream is open
+        watching = true;
+        changeStreamExecutor.execute(this::watchChanges);
+    }
+
+    @PreDestroy
+    public void stopWatching() {
+        watching = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeCursor;
+        if (cursor != null) {
+            cursor.close();
+        }
+        changeStreamExecutor.shutdownNow();
+    }
+
+    /**
+     * Applies every write to the hackathons collection as it happens. The stream is opened before the
+     * full reload, so nothing written in between is missed; changes the reload already saw are applied
+     * again, which is harmless since each event carries the whole current document.
+     */
+    private void watchChanges() {
+        String collection = mongoTemplate.getCollectionName(Hackathon.class);
+        while (watching) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mongoTemplate.getCollection(collection)
+                    .watch()
+                    .fullDocument(FullDocument.UPDATE_LOOKUP)
+                    .cursor()) {
+                changeCursor = cursor;
+                reload();
+                while (watching) {
+                    if (!applyChange(cursor.next())) {
+                        break;
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAMS_NOT_SUPPORTED) {
+                    logger.warn("Change streams are not available, the hackathon catalog only picks up other nodes' writes on its periodic reload");
+                    reload();
+                    return;
+                }
+                waitBeforeReopening(e);
+            } catch (RuntimeException e) {
+                waitBeforeReopening(e);
+            }
+        }
+    }
+
+    /**
+     * @return False when the stream was invalidated and has to be reopened
+     */
+    private boolean applyChange(ChangeStreamDocument<Document> change) {
+        OperationType type = change.getOperationType();
+        if (type == OperationType.INSERT || type == OperationType.UPDATE || type == OperationType.REPLACE) {
+            Document document = change.getFullDocument();
+            // Null when the document was deleted before the update could be looked up, the delete follows
+            if (document != null) {
+                apply(mongoTemplate.getConverter().read(Hackathon.class, document), null);
+            }
+            return true;
+        }
+        if (type == OperationType.DELETE) {
+            BsonValue id = change.getDocumentKey().get("_id");
+            apply(null, id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue());
+            return true;
+        }
+        // Drop, rename or invalidate: the cursor is done
+        return type != OperationType.INVALIDATE && type != OperationType.DROP && type != OperationType.RENAME;
+    }
+
+    private void waitBeforeReopening(RuntimeException e) {
+        if (!watching) {
+            return;
+        }
+        if (snapshot == null) {
+            // Serve from memory even while the stream cannot be opened
+            reload();
+        }
+        logger.warn("Hackathon change stream failed, reopening in {} ms: {}", CHANGE_STREAM_RETRY_MS, e.getMessage());
+        try {
+            Thread.sleep(CHANGE_STREAM_RETRY_MS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            watching = false;
+        }
+    }
+
+    @Scheduled(initialDelayString = "${hackathon.catalog.reload-interval-ms:900000}",
+            fixedDelayString = "${hackathon.catalog.reload-interval-ms:900000}")
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                changesDuringReload = new HashMap<>();
+            }
+            List<Hackathon> all;
+            try {
+                all = hackathonRepository.findAll();
+            } catch (Exception e) {
+                logger.warn("Could not load hackathons into the catalog: {}", e.getMessage());
+                synchronized (this) {
+                    changesDuringReload = null;
+                }
+                return;
+            }
+            Map<String, Hackathon> byId = new HashMap<>();
+            for (Hackathon hackathon : all) {
+                byId.put(hackathon.getId(), hackathon);
+            }
+            synchronized (this) {
+                // findAll may have read a hackathon before a change that was applied meanwhile
+                changesDuringReload.forEach((id, changed) -> {
+                    if (changed.isPresent()) {
+                        byId.put(id, changed.get());
+                    } else {
+                        byId.remove(id);
+                    }
+                });
+                changesDuringReload = null;
+                publish(byId);
+            }
+        }
+    }
+
+    // Saves on this node show up right away, without waiting for the change stream
+    @EventListener
+    public void onHackathonChanged(HackathonChangedEvent event) {
+        apply(event.hackathon(), null);
+    }
+
+    /**
+     * @param changed   Saved hackathon, or null
+     * @param deletedId Id of a deleted hackathon, or null
+     */
+    private synchronized void apply(Hackathon changed, String deletedId) {
+        String id = changed != null ? changed.getId() : deletedId;
+        if (changesDuringReload != null) {
+            changesDuringReload.put(id, Optional.ofNullable(changed));
+        }
+        if (snapshot == null) {
+            // The initial load is still running and picks this change up from changesDuringReload
+            return;
+        }
+        Map<String, Hackathon> byId = new HashMap<>(snapshot.byId());
+        if (changed != null) {
+            byId.put(id, changed);
+        } else if (byId.remove(id) == null) {
+            return;
+        }
+        publish(byId);
+    }
+
+    private synchronized void transition() {
+        if (snapshot != null) {
+            publish(snapshot.byId());
+        }
+    }
+
+    private synchronized void publish(Map<String, Hackathon> byId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Hackathon> upcoming = new ArrayList<>();
+        List<Hackathon> ongoing = new ArrayList<>();
+        List<Hackathon> past = new ArrayList<>();
+        for (Hackathon hackathon : byId.values()) {
+            Hackathon.RegistrationDates dates = hackathon.getRegistrationDates();
+            if (dates == null || dates.getStart() == null || dates.getEnd() == null) {
+                continue;
+            }
+            if (dates.getEnd().isBefore(now)) {
+                past.add(hackathon);
+            } else if (dates.getStart().isAfter(now)) {
+                upcoming.add(hackathon);
+            } else {
+                ongoing.add(hackathon);
+            }
+        }
+        upcoming.sort(BY_START);
+        ongoing.sort(BY_START);
+        past.sort(BY_END_DESC);
+        List<Hackathon> active = new ArrayList<>(ongoing.size() + upcoming.size());
+        active.addAll(ongoing);
+        active.addAll(upcoming);
+        active.sort(BY_START);
+
+        Snapshot previous = snapshot;
+        long version = previous == null ? 1 : previous.version() + 1;
+        snapshot = new Snapshot(version, now, Map.copyOf(byId), List.copyOf(active),
+                List.copyOf(upcoming), List.copyOf(ongoing), List.copyOf(past), Map.copyOf(indexByTech(active)), TechStackVectors.build(active),
+                HackathonSpatialIndex.build(active));
+        scheduleNextTransition(upcoming, ongoing);
+        if (previous != null) {
+            // Every node bumps it once it has caught up, so pages cut from an older snapshot anywhere are dropped
+            hackathonCache.invalidateListPages();
+            if (!sameHackathons(previous.active(), active)) {
+                eventPublisher.publishEvent(new ActiveHackathonsChangedEvent(version));
+            }
+        }
+        logger.debug("Hackathon catalog v{}: {} upcoming, {} ongoing, {} past", version, upcoming.size(), ongoing.size(), past.size());
+    }
+
+    private static boolean sameHackathons(List<Hackathon> a, List<Hackathon> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).getId().equals(b.get(i).getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Re-partitions exactly when the next registration window opens or closes
+    private void scheduleNextTransition(List<Hackathon> upcoming, List<Hackathon> ongoing) {
+        if (nextTransition != null) {
+            nextTransition.cancel(false);
+            nextTransition = null;
+        }
+        LocalDateTime next = upcoming.isEmpty() ? null : upcoming.get(0).getRegistrationDates().getStart();
+        for (Hackathon hackathon : ongoing) {
+            LocalDateTime end = hackathon.getRegistrationDates().getEnd();
+            if (next == null || end.isBefore(next)) {
+                next = end;
+            }
+        }
+        if (next != null) {
+            nextTransition = taskScheduler.schedule(this::transition, next.atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+}
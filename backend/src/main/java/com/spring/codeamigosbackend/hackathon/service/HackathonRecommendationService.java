@@ -0,0 +1,257 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spring.codeamigosbackend.hackathon.event.ActiveHackathonsChangedEvent;
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.recommendation.events.FrameworkStatsUpdatedEvent;
+import com.spring.codeamigosbackend.recommendation.models.UserFrameworkStats;
+import com.spring.codeamigosbackend.recommendation.repositories.UserFrameworkStatsRepository;
+import com.spring.codeamigosbackend.registration.dto.UserSummary;
+import com.spring.codeamigosbackend.registration.service.UserLookupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user hackathon recommendations materialized in Redis under {@code recommendations:{username}}.
+ * <p>
+ * A user's list is recomputed in the background when the GitHub analysis saves new framework
+ * stats, and everyone's is recomputed when the set of open hackathons changes. Every node sees that
+ * change, but only the one that claims {@code recommendations:refresh:{set}} in Redis runs the full
+ * refresh for a given set of open hackathons. The endpoint then
+ * only reads one key and resolves the hackathon ids from the in-memory catalog.
+ * Only ids and scores are stored, so join requests and team sizes are never served stale.
+ */
+@Service
+public class HackathonRecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HackathonRecommendationService.class);
+
+    private static final String KEY_PREFIX = "recommendations:";
+    private static final int STORED_RECOMMENDATIONS = 200;
+    private static final Duration TTL = Duration.ofDays(7);
+    private static final int REFRESH_BATCH_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String REFRESH_CLAIM_PREFIX = "recommendations:refresh:";
+    // Outlasts a full refresh and the spread between nodes seeing the same catalog change
+    private static final Duration REFRESH_CLAIM_TTL = Duration.ofMinutes(10);
+
+    public record StoredRecommendation(String hackathonId, int matchCount, double proficiencyScore) {
+    }
+
+    public record StoredRecommendations(List<StoredRecommendation> items, LocalDateTime computedAt) {
+    }
+
+    private final HackathonService hackathonService;
+    private final HackathonCatalog hackathonCatalog;
+    private final UserFrameworkStatsRepository userFrameworkStatsRepository;
+    private final UserLookupService userLookupService;
+    private final TaskExecutor taskExecutor;
+    private final RedisTemplate<String, StoredRecommendations> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    // Several catalog changes in a row only need one full refresh
+    private final AtomicBoolean fullRefreshQueued = new AtomicBoolean(false);
+
+    public HackathonRecommendationService(HackathonService hackathonService,
+                                          HackathonCatalog hackathonCatalog,
+                                          UserFrameworkStatsRepository userFrameworkStatsRepository,
+                                          UserLookupService userLookupService,
+                                          @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                          RedisConnectionFactory connectionFactory,
+                                          StringRedisTemplate stringRedisTemplate) {
+        this.hackathonService = hackathonService;
+        this.hackathonCatalog = hackathonCatalog;
+        this.userFrameworkStatsRepository = userFrameworkStatsRepository;
+        this.userLookupService = userLookupService;
+        this.taskExecutor = taskExecutor;
+
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        RedisTemplate<String, StoredRecommendations> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(mapper, StoredRecommendations.class));
+        template.afterPropertiesSet();
+        this.redisTemplate = template;
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * @param page Zero-based page, negative values are treated as 0
+     * @param size Page size, clamped to 1..100
+     * @return One page of the user's recommendations, best first. Computed on the spot
+     * (and stored) only if nothing was materialized for the user yet.
+     */
+    public List<HackathonService.ScoredHackathon> getRecommendations(String username, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long from = (long) Math.max(page, 0) * pageSize;
+        if (from >= STORED_RECOMMENDATIONS) {
+            return List.of();
+        }
+        StoredRecommendations stored = read(username);
+        if (stored == null) {
+            List<HackathonService.ScoredHackathon> ranked = hackathonService.recommendHackathons(username, STORED_RECOMMENDATIONS);
+            stored = store(username, ranked);
+        }
+
+        List<HackathonService.ScoredHackathon> result = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        int skipped = 0;
+        for (StoredRecommendation item : stored.items()) {
+            Hackathon hackathon = resolve(item.hackathonId());
+            // Closed since the list was computed; the catalog change already queued a refresh
+            if (hackathon == null || hackathon.getRegistrationDates() == null
+                    || !hackathon.getRegistrationDates().getEnd().isAfter(now)) {
+                continue;
+            }
+            if (skipped++ < from) {
+                continue;
+            }
+            result.add(new HackathonService.ScoredHackathon(hackathon, item.matchCount(), item.proficiencyScore()));
+            if (result.size() == pageSize) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onFrameworkStatsUpdated(FrameworkStatsUpdatedEvent event) {
+        taskExecutor.execute(() -> refreshUser(event.username(), event.frameworkUsage()));
+    }
+
+    @EventListener
+    public void onActiveHackathonsChanged(ActiveHackathonsChangedEvent event) {
+        if (fullRefreshQueued.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                fullRefreshQueued.set(false);
+                String claim = claimFullRefresh();
+                if (claim == null) {
+                    return;
+                }
+                try {
+                    refreshAll();
+                } catch (RuntimeException e) {
+                    logger.warn("Full recommendations refresh failed: {}", e.getMessage());
+                    releaseClaim(claim);
+                }
+            });
+        }
+    }
+
+    /**
+     * Claims the refresh for the catalog's current set of open hackathons with SET NX. The key is
+     * derived from the ids, so every node that reached the same set competes for the same key.
+     * @return The claimed key, or null when another node already refreshes for this set
+     */
+    private String claimFullRefresh() {
+        List<String> activeIds = hackathonCatalog.isLoaded()
+                ? hackathonCatalog.current().active().stream().map(Hackathon::getId).collect(Collectors.toList())
+                : List.of();
+        String key = REFRESH_CLAIM_PREFIX + UUID.nameUUIDFromBytes(String.join(",", activeIds).getBytes(StandardCharsets.UTF_8));
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, "1", REFRESH_CLAIM_TTL))) {
+                return key;
+            }
+            logger.debug("Full recommendations refresh for {} already claimed by another node", key);
+            return null;
+        } catch (RuntimeException e) {
+            // Refreshing on several nodes is wasteful, not refreshing at all leaves stale lists
+            logger.warn("Could not claim the full recommendations refresh, running it anyway: {}", e.getMessage());
+            return key;
+        }
+    }
+
+    // Lets the next catalog change retry a refresh that failed
+    private void releaseClaim(String key) {
+        try {
+            stringRedisTemplate.delete(key);
+        } catch (RuntimeException e) {
+            logger.warn("Could not release {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void refreshUser(String username, Map<String, Integer> frameworkUsage) {
+        try {
+            store(username, hackathonService.rankHackathons(frameworkUsage, STORED_RECOMMENDATIONS));
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh recommendations for {}: {}", username, e.getMessage());
+        }
+    }
+
+    private void refreshAll() {
+        int refreshed = 0;
+        Page<UserFrameworkStats> batch;
+        int pageNumber = 0;
+        do {
+            batch = userFrameworkStatsRepository.findAll(PageRequest.of(pageNumber++, REFRESH_BATCH_SIZE));
+            List<String> userIds = batch.getContent().stream().map(UserFrameworkStats::getUserId).collect(Collectors.toList());
+            Map<String, UserSummary> users = userLookupService.getSummaries(userIds);
+            for (UserFrameworkStats stats : batch.getContent()) {
+                UserSummary user = users.get(stats.getUserId());
+                if (user != null) {
+                    refreshUser(user.getUsername(), stats.getFrameworkUsage());
+                    refreshed++;
+                }
+            }
+        } while (batch.hasNext());
+        logger.info("Refreshed hackathon recommendations for {} users", refreshed);
+    }
+
+    private Hackathon resolve(String hackathonId) {
+        if (hackathonCatalog.isLoaded()) {
+            return hackathonCatalog.current().byId().get(hackathonId);
+        }
+        try {
+            return hackathonService.getHackathonById(hackathonId);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private StoredRecommendations read(String username) {
+        try {
+            return redisTemplate.opsForValue().get(KEY_PREFIX + username);
+        } catch (RuntimeException e) {
+            logger.warn("Redis read of recommendations for {} failed: {}", username, e.getMessage());
+            return null;
+        }
+    }
+
+    private StoredRecommendations store(String username, List<HackathonService.ScoredHackathon> ranked) {
+        List<StoredRecommendation> items = ranked.stream()
+                .map(scored -> new StoredRecommendation(scored.getHackathon().getId(), scored.getMatchCount(), scored.getProficiencyScore()))
+                .collect(Collectors.toList());
+        StoredRecommendations stored = new StoredRecommendations(Collections.unmodifiableList(items), LocalDateTime.now());
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + username, stored, TTL);
+        } catch (RuntimeException e) {
+            logger.warn("Redis write of recommendations for {} failed: {}", username, e.getMessage());
+        }
+        return stored;
+    }
+}
@@ -1,6 +1,7 @@
 package com.spring.codeamigosbackend.hackathon.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spring.codeamigosbackend.hackathon.dto.HackathonRequestDTO;
+import com.spring.codeamigosbackend.hackathon.event.HackathonChangedEvent;
 import com.spring.codeamigosbackend.hackathon.model.Hackathon;
 import com.spring.codeamigosbackend.hackathon.model.HackathonRequest;
 import com.spring.codeamigosbackend.hackathon.repository.HackathonRepository;
@@ -9,25 +10,27 @@ import com.spring.codeamigosbackend.registration.model.User;
 import com.spring.codeamigosbackend.registration.repository.UserRepository;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class HackathonRequestService {
 
-    @Autowired
-    public RedisTemplate redisTemplate;
-
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -38,13 +41,16 @@ public class HackathonRequestService {
     final private HackathonRepository hackathonRepository;
     final private UserRepository userRepository;
     final private MailService mailService;
+    final private ApplicationEventPublisher eventPublisher;
+
+    private static final Logger logger = LoggerFactory.getLogger(HackathonRequestService.class);
 
     public HackathonRequest createHackathonRequest(HackathonRequestDTO hackathonRequestDTO) {
         Hackathon hackathon = hackathonRepository.findById(hackathonRequestDTO.getHackathonId()).orElse(null);
 
         if (hackathon != null) {
             hackathon.getRequestsToJoin().add(hackathonRequestDTO.getRequestedBy());
-            hackathonRepository.save(hackathon);
+            eventPublisher.publishEvent(new HackathonChangedEvent(hackathonRepository.save(hackathon)));
         }
 
         HackathonRequest hackathonRequest = new HackathonRequest();
@@ -65,8 +71,9 @@ public class HackathonRequestService {
 
     private void sendHackathonRequestEmail(HackathonRequest request) {
         try {
-            User requestedUser = userRepository.findByUsername(request.getRequestedBy()).orElse(null);
-            User hackathonCreator = userRepository.findByUsername(request.getCreatedBy()).orElse(null);
+            Map<String, User> users = usersByUsername(Arrays.asList(request.getRequestedBy(), request.getCreatedBy()));
+            User requestedUser = users.get(request.getRequestedBy());
+            User hackathonCreator = users.get(request.getCreatedBy());
 
             if (requestedUser == null || hackathonCreator == null) {
                 return;
@@ -99,7 +106,7 @@ public class HackathonRequestService {
 
             mailService.sendEmail(toEmail, subject, body);
         } catch (MessagingException e) {
-            System.err.println("Error sending email: " + e.getMessage());
+            logger.error("Error sending email: {}", e.getMessage());
         }
     }
     public List<HackathonRequest> getAllHackathonRequests() {
@@ -126,7 +133,8 @@ public class HackathonRequestService {
         // Update the hackathon request status and save it
         hackathonRequest.setStatus(status);
         hackathonRequestRepository.save(hackathonRequest);
-        sendHackathonRequestStatusEmail(hackathonRequest);
+        sendHackathonRequestStatusEmail(hackathonRequest,
+                usersByUsername(Arrays.asList(hackathonRequest.getRequestedBy(), hackathonRequest.getCreatedBy())));
 
         // If the hackathon exists, update it accordingly
         if (hackathonOpt.isPresent()) {
@@ -147,31 +155,41 @@ public class HackathonRequestService {
                         .filter(req -> req.getStatus().equalsIgnoreCase("pending"))
                         .collect(Collectors.toList());
 
+                // Everyone the rejection emails need, in one query
+                List<String> recipients = pendingRequests.stream().map(HackathonRequest::getRequestedBy).collect(Collectors.toList());
+                recipients.add(hackathon.getCreatedBy());
+                Map<String, User> users = usersByUsername(recipients);
+
                 for (HackathonRequest req : pendingRequests) {
                     req.setStatus("rejected");
                     hackathonRequestRepository.save(req);
                     hackathon.getRejectedUsers().add(req.getRequestedBy());
-                    sendHackathonRequestStatusEmail(req);
+                    sendHackathonRequestStatusEmail(req, users);
                 }
             }
 
-            // Save the updated hackathon once after all changes
-            Object cached = redisTemplate.opsForValue().get(hackathonRequest.getHackathonId());
-            if (cached != null) {
-                // updates the hackathon as already present
-                redisTemplate.opsForValue().set(hackathonRequest.getHackathonId(), hackathon,86400, TimeUnit.SECONDS);
-            }
-            hackathonRepository.save(hackathon);
+            // Save the updated hackathon once after all changes; the change event refreshes the caches
+            eventPublisher.publishEvent(new HackathonChangedEvent(hackathonRepository.save(hackathon)));
         }
 
         return hackathonRequest;
     }
 
 
-    private void sendHackathonRequestStatusEmail(HackathonRequest request) {
+    // One $in query for the users an email (or a batch of emails) needs
+    private Map<String, User> usersByUsername(Collection<String> usernames) {
+        List<String> distinct = usernames.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findByUsernameIn(distinct).stream()
+                .collect(Collectors.toMap(User::getUsername, user -> user, (a, b) -> a));
+    }
+
+    private void sendHackathonRequestStatusEmail(HackathonRequest request, Map<String, User> users) {
         try {
-            User requestedUser = userRepository.findByUsername(request.getRequestedBy()).orElse(null);
-            User hackathonCreator = userRepository.findByUsername(request.getCreatedBy()).orElse(null);
+            User requestedUser = users.get(request.getRequestedBy());
+            User hackathonCreator = users.get(request.getCreatedBy());
 
             if (requestedUser == null || hackathonCreator == null) {
                 return;
@@ -216,7 +234,7 @@ public class HackathonRequestService {
 
             mailService.sendEmail(toEmail, subject, body);
         } catch (MessagingException e) {
-            System.err.println("Error sending email: " + e.getMessage());
+            logger.error("Error sending email: {}", e.getMessage());
         }
     }
     public HackathonRequest getHackathonRequestById(java.lang.String id) {
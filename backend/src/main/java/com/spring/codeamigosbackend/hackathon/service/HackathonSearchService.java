@@ -0,0 +1,202 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.spring.codeamigosbackend.hackathon.dto.HackathonSummary;
+import com.spring.codeamigosbackend.hackathon.exception.ValidationException;
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.hackathon.repository.HackathonRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Search over hackathons. Full-text queries go to the Mongo text index on title, organization,
+ * theme, tech stacks and location, ranked by text score. Autocomplete is answered from a sorted
+ * term array built off the catalog snapshot, so a keystroke costs two binary searches.
+ */
+@Service
+@RequiredArgsConstructor
+public class HackathonSearchService {
+
+    private static final int MAX_RESULTS = 50;
+    // Upper bound of prefix matches ranked per keystroke, a one letter prefix can match most titles
+    private static final int MAX_PREFIX_CANDIDATES = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final HackathonCatalog catalog;
+
+    private volatile PrefixIndex prefixIndex;
+
+    /**
+     * @param text       Words to look for; quoted phrases and -negation follow Mongo's $text syntax
+     * @param mode       online / offline / hybrid, null for any
+     * @param from       Only hackathons starting on or after this day, null for no lower bound
+     * @param to         Only hackathons starting on or before this day, null for no upper bound
+     * @param activeOnly Skip hackathons whose registration has closed
+     * @return Matches, best text score first
+     */
+    public List<HackathonSummary> search(String text, String mode, LocalDate from, LocalDate to,
+                                         boolean activeOnly, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new ValidationException("Search text is required");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("'from' must not be after 'to'");
+        }
+
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text.trim()));
+        query.sortByScore();
+        if (mode != null && !mode.isBlank()) {
+            query.addCriteria(Criteria.where("mode").is(mode.trim().toLowerCase(Locale.ROOT)));
+        }
+        if (from != null || to != null) {
+            Criteria starts = Criteria.where("hackathonDates.start");
+            if (from != null) {
+                starts.gte(from.atStartOfDay());
+            }
+            if (to != null) {
+                starts.lt(to.plusDays(1).atStartOfDay());
+            }
+            query.addCriteria(starts);
+        }
+        if (activeOnly) {
+            query.addCriteria(Criteria.where("registrationDates.end").gt(LocalDateTime.now()));
+        }
+        Document.parse(HackathonRepository.SUMMARY_FIELDS).keySet().forEach(query.fields()::include);
+        query.limit(clampLimit(limit));
+
+        return mongoTemplate.find(query, Hackathon.class).stream()
+                .map(HackathonSummary::from)
+                .toList();
+    }
+
+    /**
+     * Hackathons with a title or organization word (or the whole title) starting with the prefix.
+     * Open registrations come first, then the rest, each by registration start.
+     */
+    public List<HackathonSummary> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        HackathonCatalog.Snapshot snapshot = catalog.current();
+        if (snapshot == null) {
+            return List.of();
+        }
+        PrefixIndex index = prefixIndexFor(snapshot);
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+
+        Set<String> ids = new LinkedHashSet<>();
+        int from = lowerBound(index.terms, normalized);
+        for (int i = from; i < index.terms.length && ids.size() < MAX_PREFIX_CANDIDATES; i++) {
+            if (!index.terms[i].startsWith(normalized)) {
+                break;
+            }
+            ids.add(index.ids[i]);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Comparator<Hackathon> openFirst = Comparator.comparing((Hackathon h) -> !isOpen(h, now));
+        return ids.stream()
+                .map(snapshot.byId()::get)
+                .filter(Objects::nonNull)
+                .sorted(openFirst.thenComparing(HackathonCatalog.BY_START))
+                .limit(clampLimit(limit))
+                .map(HackathonSummary::from)
+                .toList();
+    }
+
+    private PrefixIndex prefixIndexFor(HackathonCatalog.Snapshot snapshot) {
+        PrefixIndex index = prefixIndex;
+        if (index != null && index.version == snapshot.version()) {
+            return index;
+        }
+        synchronized (this) {
+            index = prefixIndex;
+            if (index == null || index.version != snapshot.version()) {
+                index = PrefixIndex.build(snapshot.version(), snapshot.byId());
+                prefixIndex = index;
+            }
+            return index;
+        }
+    }
+
+    private static boolean isOpen(Hackathon hackathon, LocalDateTime now) {
+        return hackathon.getRegistrationDates() != null && hackathon.getRegistrationDates().getEnd() != null
+                && hackathon.getRegistrationDates().getEnd().isAfter(now);
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_RESULTS));
+    }
+
+    // First position whose term is >= key
+    private static int lowerBound(String[] terms, String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Lowercased terms sorted lexicographically with the id of the hackathon each came from.
+     * Built once per catalog version.
+     */
+    private record PrefixIndex(long version, String[] terms, String[] ids) {
+
+        static PrefixIndex build(long version, Map<String, Hackathon> byId) {
+            List<String[]> entries = new ArrayList<>();
+            for (Hackathon hackathon : byId.values()) {
+                Set<String> terms = new LinkedHashSet<>();
+                addTerms(terms, hackathon.getTitle(), true);
+                addTerms(terms, hackathon.getOrganization(), false);
+                for (String term : terms) {
+                    entries.add(new String[]{term, hackathon.getId()});
+                }
+            }
+            entries.sort(Comparator.comparing((String[] entry) -> entry[0]));
+            String[] terms = new String[entries.size()];
+            String[] ids = new String[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                terms[i] = entries.get(i)[0];
+                ids[i] = entries.get(i)[1];
+            }
+            return new PrefixIndex(version, terms, ids);
+        }
+
+        private static void addTerms(Set<String> terms, String value, boolean includeWhole) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String lower = value.trim().toLowerCase(Locale.ROOT);
+            if (includeWhole) {
+                // Lets a multi-word prefix such as "smart india" match the title
+                terms.add(lower);
+            }
+            Arrays.stream(lower.split("[^\\p{L}\\p{N}]+"))
+                    .filter(word -> !word.isEmpty())
+                    .forEach(terms::add);
+        }
+    }
+}
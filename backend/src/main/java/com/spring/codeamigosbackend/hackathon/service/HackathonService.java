@@ -1,9 +1,11 @@
 package com.spring.codeamigosbackend.hackathon.service;
 
 import com.cloudinary.Cloudinary;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spring.codeamigosbackend.geolocation.services.GeolocationService;
 import com.spring.codeamigosbackend.hackathon.dto.HackathonDTO;
+import com.spring.codeamigosbackend.hackathon.dto.HackathonPage;
+import com.spring.codeamigosbackend.hackathon.dto.HackathonSummary;
+import com.spring.codeamigosbackend.hackathon.event.HackathonChangedEvent;
 
 import com.spring.codeamigosbackend.hackathon.model.Hackathon;
 import com.spring.codeamigosbackend.hackathon.model.HackathonRequest;
@@ -13,24 +15,35 @@ import com.spring.codeamigosbackend.hackathon.repository.HackathonRequestReposit
 import com.spring.codeamigosbackend.recommendation.models.UserFrameworkStats;
 import com.spring.codeamigosbackend.recommendation.services.FrameworkAnalysisService;
 import com.spring.codeamigosbackend.recommendation.utils.ApiException;
+import com.spring.codeamigosbackend.registration.dto.UserSummary;
 import com.spring.codeamigosbackend.registration.model.User;
+import com.spring.codeamigosbackend.registration.service.UserLookupService;
 import com.spring.codeamigosbackend.registration.service.UserService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.apache.tomcat.util.net.SocketWrapperBase;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,16 +55,22 @@ public class HackathonService {
     private  GeolocationService  geolocationService;
     private final UserService userService;
     private final FrameworkAnalysisService frameworkAnalysisService;
+    private final HackathonCatalog hackathonCatalog;
+    private final HackathonCache hackathonCache;
+    private final UserLookupService userLookupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static Logger logger = LoggerFactory.getLogger("HackathonService.class");
-
-    @Autowired
-    private ObjectMapper objectMapper;
+    private static final double DEFAULT_NEARBY_RADIUS_KM = 100.0;
+    private static final int DEFAULT_NEARBY_PAGE_SIZE = 100;
+    private static final int MAX_LIST_PAGE_SIZE = 100;
+    private static final int DEFAULT_RECOMMENDATION_LIMIT = 50;
+    // Cursors used for the first page, they sort before (or after, for past) every stored (date, _id) pair
+    private static final ListCursor FIRST_ASCENDING = new ListCursor(LocalDateTime.of(1970, 1, 1, 0, 0), new ObjectId("000000000000000000000000"));
+    private static final ListCursor FIRST_DESCENDING = new ListCursor(LocalDateTime.of(9999, 12, 31, 0, 0), new ObjectId("ffffffffffffffffffffffff"));
 
     @Autowired
     private RestTemplate restTemplate;
-    @Autowired
-    private RedisTemplate<Object, Object> redisTemplate;
 
     @Transactional
     public Hackathon createHackathon(HackathonDTO request) throws IOException {
@@ -69,6 +88,7 @@ public class HackathonService {
         List<Double> coordinates = this.geolocationService.getCoordinatesFromLocation(request.getLocation());
         hackathon.setLatitude(coordinates.get(0));
         hackathon.setLongitude(coordinates.get(1));
+        hackathon.setLocationPoint(new GeoJsonPoint(coordinates.get(1), coordinates.get(0)));
 
         if (request.getTeamSize() != null) {
             Hackathon.TeamSize teamSize = new Hackathon.TeamSize();
@@ -90,23 +110,171 @@ public class HackathonService {
         hackathon.setUpdatedAt(LocalDateTime.now());
         hackathon.setCreatedBy(request.getCreatedBy());
         hackathon.setCreatedById(request.getCreatedById());
-        return hackathonRepository.save(hackathon);
+        Hackathon saved = hackathonRepository.save(hackathon);
+        eventPublisher.publishEvent(new HackathonChangedEvent(saved));
+        return saved;
     }
 
     public List<Hackathon> getAllActiveHackathons() {
+        if (hackathonCatalog.isLoaded()) {
+            return hackathonCatalog.current().active();
+        }
         return hackathonRepository.findByRegistrationDates_EndAfterOrderByRegistrationDates_StartAsc(LocalDateTime.now());
     }
 
-    public List<Hackathon> getPastHackathons() {
-        return hackathonRepository.findByRegistrationDates_EndBeforeOrderByRegistrationDates_EndDesc(LocalDateTime.now());
+    public HackathonPage getActiveHackathonPage(String cursor, int size) {
+        return cachedListPage("active", cursor, size, this::loadActiveHackathonPage);
     }
-    public List<Hackathon> getUpcomingHackathons() {
-        return hackathonRepository.findByRegistrationDates_StartAfterOrderByRegistrationDates_StartAsc(LocalDateTime.now());
+
+    public HackathonPage getUpcomingHackathonPage(String cursor, int size) {
+        return cachedListPage("upcoming", cursor, size, this::loadUpcomingHackathonPage);
     }
 
-    public List<Hackathon> getOngoingHackathons() {
-        LocalDateTime now = LocalDateTime.now();
-        return hackathonRepository.findByRegistrationDates_StartBeforeAndRegistrationDates_EndAfterOrderByRegistrationDates_StartAsc(now, now);
+    public HackathonPage getOngoingHackathonPage(String cursor, int size) {
+        return cachedListPage("ongoing", cursor, size, this::loadOngoingHackathonPage);
+    }
+
+    public HackathonPage getPastHackathonPage(String cursor, int size) {
+        return cachedListPage("past", cursor, size, this::loadPastHackathonPage);
+    }
+
+    private HackathonPage cachedListPage(String list, String cursor, int size, BiFunction<String, Integer, HackathonPage> loader) {
+        int pageSize = clampPageSize(size);
+        // Read before the page is cut, so a snapshot published meanwhile keeps this page out of the cache
+        String generation = hackathonCache.listGeneration();
+        if (generation == null) {
+            return loader.apply(cursor, pageSize);
+        }
+        HackathonPage cached = hackathonCache.getListPage(list, generation, cursor, pageSize);
+        if (cached != null) {
+            return cached;
+        }
+        HackathonPage page = loader.apply(cursor, pageSize);
+        hackathonCache.putListPage(list, generation, cursor, pageSize, page);
+        return page;
+    }
+
+    private HackathonPage loadActiveHackathonPage(String cursor, int size) {
+        ListCursor after = decodeCursor(cursor, FIRST_ASCENDING);
+        int pageSize = clampPageSize(size);
+        if (hackathonCatalog.isLoaded()) {
+            return pageFromCatalog(hackathonCatalog.current().active(), HackathonCatalog.BY_START, after, pageSize, false);
+        }
+        List<HackathonSummary> items = hackathonRepository.findActiveSummaries(LocalDateTime.now(), after.key(), after.id(), PageRequest.of(0, pageSize));
+        return toPage(items, pageSize, summary -> summary.getRegistrationDates().getStart());
+    }
+
+    private HackathonPage loadUpcomingHackathonPage(String cursor, int size) {
+        ListCursor after = decodeCursor(cursor, FIRST_ASCENDING);
+        int pageSize = clampPageSize(size);
+        if (hackathonCatalog.isLoaded()) {
+            return pageFromCatalog(hackathonCatalog.current().upcoming(), HackathonCatalog.BY_START, after, pageSize, false);
+        }
+        List<HackathonSummary> items = hackathonRepository.findUpcomingSummaries(LocalDateTime.now(), after.key(), after.id(), PageRequest.of(0, pageSize));
+        return toPage(items, pageSize, summary -> summary.getRegistrationDates().getStart());
+    }
+
+    private HackathonPage loadOngoingHackathonPage(String cursor, int size) {
+        ListCursor after = decodeCursor(cursor, FIRST_ASCENDING);
+        int pageSize = clampPageSize(size);
+        if (hackathonCatalog.isLoaded()) {
+            return pageFromCatalog(hackathonCatalog.current().ongoing(), HackathonCatalog.BY_START, after, pageSize, false);
+        }
+        List<HackathonSummary> items = hackathonRepository.findOngoingSummaries(LocalDateTime.now(), after.key(), after.id(), PageRequest.of(0, pageSize));
+        return toPage(items, pageSize, summary -> summary.getRegistrationDates().getStart());
+    }
+
+    private HackathonPage loadPastHackathonPage(String cursor, int size) {
+        ListCursor before = decodeCursor(cursor, FIRST_DESCENDING);
+        int pageSize = clampPageSize(size);
+        if (hackathonCatalog.isLoaded()) {
+            return pageFromCatalog(hackathonCatalog.current().past(), HackathonCatalog.BY_END_DESC, before, pageSize, true);
+        }
+        List<HackathonSummary> items = hackathonRepository.findPastSummaries(LocalDateTime.now(), before.key(), before.id(), PageRequest.of(0, pageSize));
+        return toPage(items, pageSize, summary -> summary.getRegistrationDates().getEnd());
+    }
+
+    /**
+     * Sets each item's join status for the viewer. Pages are the same for every viewer (and cached
+     * that way), so this runs on the page handed out, using the request lists of the catalog's documents.
+     * @param viewerId Id of the authenticated user, the page is returned as is when null
+     */
+    public HackathonPage withJoinStatus(HackathonPage page, String viewerId) {
+        if (viewerId == null || page.getItems().isEmpty()) {
+            return page;
+        }
+        String username = userLookupService.getSummary(viewerId).map(UserSummary::getUsername).orElse(null);
+        if (username == null) {
+            return page;
+        }
+        HackathonCatalog.Snapshot snapshot = hackathonCatalog.current();
+        for (HackathonSummary item : page.getItems()) {
+            Hackathon hackathon = snapshot != null ? snapshot.byId().get(item.getId()) : null;
+            if (hackathon == null) {
+                hackathon = hackathonCache.getHackathon(item.getId(), () -> hackathonRepository.findById(item.getId()).orElse(null));
+            }
+            if (hackathon != null) {
+                item.setJoinStatus(HackathonSummary.joinStatusOf(hackathon, username));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Same keyset semantics as the repository queries, over one of the catalog's sorted partitions.
+     */
+    private static HackathonPage pageFromCatalog(List<Hackathon> partition, Comparator<Hackathon> order, ListCursor cursor,
+                                                 int pageSize, boolean keyedByEnd) {
+        Hackathon probe = new Hackathon();
+        probe.setId(cursor.id().toHexString());
+        Hackathon.RegistrationDates dates = new Hackathon.RegistrationDates();
+        if (keyedByEnd) {
+            dates.setEnd(cursor.key());
+        } else {
+            dates.setStart(cursor.key());
+        }
+        probe.setRegistrationDates(dates);
+
+        int index = Collections.binarySearch(partition, probe, order);
+        int from = index >= 0 ? index + 1 : -index - 1;
+        List<HackathonSummary> items = partition.subList(from, Math.min(from + pageSize, partition.size())).stream()
+                .map(HackathonSummary::from)
+                .collect(Collectors.toList());
+        return toPage(items, pageSize, keyedByEnd
+                ? summary -> summary.getRegistrationDates().getEnd()
+                : summary -> summary.getRegistrationDates().getStart());
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_LIST_PAGE_SIZE));
+    }
+
+    /**
+     * A full page means there may be more, so the last item's sort key becomes the next cursor.
+     */
+    private static HackathonPage toPage(List<HackathonSummary> items, int pageSize, Function<HackathonSummary, LocalDateTime> sortKey) {
+        if (items.size() < pageSize) {
+            return new HackathonPage(items, null);
+        }
+        HackathonSummary last = items.get(items.size() - 1);
+        String raw = sortKey.apply(last) + "|" + last.getId();
+        return new HackathonPage(items, Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ListCursor decodeCursor(String cursor, ListCursor firstPage) {
+        if (cursor == null || cursor.isBlank()) {
+            return firstPage;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new ListCursor(LocalDateTime.parse(raw.substring(0, separator)), new ObjectId(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private record ListCursor(LocalDateTime key, ObjectId id) {
     }
 
     private void validateRequest(HackathonDTO request) {
@@ -117,15 +285,8 @@ public class HackathonService {
 
 
     public Hackathon getHackathonById(String id) {
-        Object cached = redisTemplate.opsForValue().get(id);
-        if (cached != null) {
-             Hackathon hackathon = objectMapper.convertValue(cached, Hackathon.class);
-             return hackathon;
-        }
-
-        Hackathon hackathon = hackathonRepository.findById(id).orElse(null);
+        Hackathon hackathon = hackathonCache.getHackathon(id, () -> hackathonRepository.findById(id).orElse(null));
         if (hackathon != null) {
-            redisTemplate.opsForValue().set(id, hackathon,86400, TimeUnit.SECONDS);
             return hackathon;
         }
 
@@ -144,141 +305,134 @@ public class HackathonService {
     }
 
     public List<Hackathon> findNearbyHackathons(Double latitude, Double longitude) {
-        return findNearbyHackathons(latitude, longitude, 100.0); // Default radius = 100 km
+        return findNearbyHackathons(latitude, longitude, DEFAULT_NEARBY_RADIUS_KM);
     }
 
-    // Find all hackathons and use the haversine formula to find the nearby hackathons
     public List<Hackathon> findNearbyHackathons(Double latitude, Double longitude, Double radiusKm) {
+        return findNearbyHackathons(latitude, longitude, radiusKm, 0, DEFAULT_NEARBY_PAGE_SIZE);
+    }
 
-        List<Hackathon> activeHackathons = this.getAllActiveHackathons();
-        return activeHackathons.stream()
-                .filter(h -> {
-                    if (h.getLatitude() == null || h.getLongitude() == null) return false;
-                    double distance = calculateDistance(latitude, longitude, h.getLatitude(), h.getLongitude());
-                    return distance <= radiusKm;
-                })
+    /**
+     * Finds active hackathons within the radius, nearest first. Candidates come from the spatial index
+     * over the catalog snapshot; until the catalog has been loaded the 2dsphere $geoNear query on locationPoint is used.
+     * @param radiusKm Search radius in kilometers, defaults to 100 km when null
+     * @param page     Zero-based page, negative values are treated as 0
+     * @param size     Page size, clamped to 1..100
+     * @return One page of active hackathons sorted by distance
+     */
+    public List<Hackathon> findNearbyHackathons(Double latitude, Double longitude, Double radiusKm, int page, int size) {
+        double radius = radiusKm != null ? radiusKm : DEFAULT_NEARBY_RADIUS_KM;
+        int pageNumber = Math.max(0, page);
+        int pageSize = clampPageSize(size);
+        HackathonCatalog.Snapshot snapshot = hackathonCatalog.current();
+        if (snapshot != null) {
+            List<HackathonSpatialIndex.Match> matches = snapshot.activeLocations().findWithin(latitude, longitude, radius);
+            int from = (int) Math.min((long) pageNumber * pageSize, matches.size());
+            int to = Math.min(from + pageSize, matches.size());
+            // Only the ids are indexed; documents come from the same snapshot
+            Map<String, Hackathon> byId = snapshot.byId();
+            return matches.subList(from, to).stream()
+                    .map(HackathonSpatialIndex.Match::hackathonId)
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+        return hackathonRepository.findByLocationPointNearAndRegistrationDates_EndAfter(
+                        new Point(longitude, latitude),
+                        new Distance(radius, Metrics.KILOMETERS),
+                        LocalDateTime.now(),
+                        PageRequest.of(pageNumber, pageSize))
+                .getContent().stream()
+                .map(GeoResult::getContent)
                 .collect(Collectors.toList());
     }
 
-    // Haversine formula
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        double R = 6371; // Radius of Earth in kilometers
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a =
-                Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                        Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                                Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+    public List<ScoredHackathon> recommendHackathons(String username) {
+        return recommendHackathons(username, DEFAULT_RECOMMENDATION_LIMIT);
     }
 
-    public List<ScoredHackathon> recommendHackathons(String username) {
-        // Step 1: Get the user's framework stats
+    /**
+     * Ranks active hackathons by cosine similarity between the user's TF-IDF weighted framework
+     * usage and the hackathon's tech stack (primary) and the number of shared frameworks (secondary).
+     * Only hackathons sharing at least one framework with the user are looked at, through the
+     * catalog's tech stack index, and a heap of size {@code limit} keeps the best ones.
+     * @param limit Maximum number of hackathons returned
+     * @return Best matches first, only hackathons with a positive score
+     */
+    public List<ScoredHackathon> recommendHackathons(String username, int limit) {
         UserFrameworkStats stats = this.frameworkAnalysisService.getUserFrameworkStats(username);
-
         if (stats == null || stats.getFrameworkUsage() == null || stats.getFrameworkUsage().isEmpty()) {
-            System.out.println("No framework stats found for user:"+ username);
-            return Collections.emptyList();
-        }
-        // Step 2: Extract frameworks the user is proficient in
-        Map<String, Integer> frameworkUsage = stats.getFrameworkUsage();
-        List<String> userFrameworks = new ArrayList<>(frameworkUsage.keySet());
-        if (userFrameworks.isEmpty()) {
-            System.out.println("No frameworks found in stats for user: {}"+ username);
+            logger.debug("No framework stats found for user: {}", username);
             return Collections.emptyList();
         }
-
-        List<Hackathon> hackathons = this.getAllActiveHackathons();
-        // Normalize user frameworks to lowercase for case-insensitive matching
-        List<String> normalizedUserFrameworks = userFrameworks.stream()
-                .map(String::toLowerCase)
-                .collect(Collectors.toList());
-        System.out.println(hackathons);
-
-        // Step 3   : Rank hackathons based on number of framework matches (primary) and proficiency score (secondary)
-        List<ScoredHackathon> scoredHackathons = hackathons.stream()
-                .map(hackathon -> {
-                    int matchCount = countFrameworkMatches(hackathon, userFrameworks);
-                    double proficiencyScore = calculateProficiencyScore(hackathon, frameworkUsage);
-                    return new ScoredHackathon(hackathon, matchCount, proficiencyScore);
-                })
-                .sorted((h1, h2) -> {
-                    // Primary sort: Number of matches (descending)
-                    int matchCompare = Integer.compare(h2.getMatchCount(), h1.getMatchCount());
-                    if (matchCompare != 0) {
-                        return matchCompare;
-                    }
-                    // Secondary sort: Proficiency score (descending)
-                    return Double.compare(h2.getProficiencyScore(), h1.getProficiencyScore());
-                })
-                .collect(Collectors.toList());
-        logger.info("Decending order of recommended hackathons: " + scoredHackathons);
-        return scoredHackathons.stream().filter(scoredHackathon -> scoredHackathon.getProficiencyScore() > 0).collect(Collectors.toList());
+        return rankHackathons(stats.getFrameworkUsage(), limit);
     }
 
     /**
-     * Counts the number of frameworks in the hackathon's tech stack that match the user's frameworks.
-     * @param hackathon The hackathon to evaluate
-     * @param normalizedUserFrameworks List of frameworks the user is proficient in
-     * @return Number of matching frameworks
+     * Ranking behind {@link #recommendHackathons(String, int)} for framework stats the caller already has.
      */
-    private int countFrameworkMatches(Hackathon hackathon, List<String> normalizedUserFrameworks) {
-        List<String> techStack = hackathon.getTechStacks();
-        if (techStack == null || techStack.isEmpty()) {
-            return 0;
+    public List<ScoredHackathon> rankHackathons(Map<String, Integer> frameworkUsage, int limit) {
+        if (frameworkUsage == null || frameworkUsage.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Normalize the user's frameworks once instead of once per hackathon
+        Map<String, Integer> usage = new HashMap<>();
+        frameworkUsage.forEach((framework, count) -> {
+            if (framework != null && count != null && count > 0) {
+                usage.merge(HackathonCatalog.normalizeTech(framework), count, Integer::sum);
+            }
+        });
+
+        Map<String, List<Hackathon>> byTech;
+        TechStackVectors vectors;
+        if (hackathonCatalog.isLoaded()) {
+            HackathonCatalog.Snapshot snapshot = hackathonCatalog.current();
+            byTech = snapshot.activeByTech();
+            vectors = snapshot.activeVectors();
+        } else {
+            List<Hackathon> active = getAllActiveHackathons();
+            byTech = HackathonCatalog.indexByTech(active);
+            vectors = TechStackVectors.build(active);
+        }
+
+        // Candidates share at least one framework with the user; only those get a similarity computed
+        Map<String, ScoredHackathon> candidates = new HashMap<>();
+        usage.keySet().forEach(framework -> {
+            for (Hackathon hackathon : byTech.getOrDefault(framework, List.of())) {
+                ScoredHackathon scored = candidates.computeIfAbsent(hackathon.getId(), id -> new ScoredHackathon(hackathon, 0, 0.0));
+                scored.setMatchCount(scored.getMatchCount() + 1);
+            }
+        });
+        float[] userVector = vectors.userVector(usage);
+        for (ScoredHackathon scored : candidates.values()) {
+            scored.setProficiencyScore(vectors.cosine(userVector, scored.getHackathon().getId()));
         }
-        // Normalize tech stack to lowercase for case-insensitive matching
-        int matches = (int) techStack.stream()
-                .map(String::toLowerCase)
-                .filter(normalizedUserFrameworks::contains)
-                .count();
-        return (int) techStack.stream()
-                .filter(normalizedUserFrameworks::contains)
-                .count();
+
+        Comparator<ScoredHackathon> ranking = Comparator.comparingDouble(ScoredHackathon::getProficiencyScore)
+                .thenComparingInt(ScoredHackathon::getMatchCount);
+        return topK(candidates.values(), limit, ranking);
     }
 
     /**
-     * Calculates a proficiency score for a hackathon based on the user's proficiency in its required tech stack.
-     * @param hackathon The hackathon to score
-     * @param frameworkUsage The user's framework usage stats
-     * @return Average proficiency score for matched frameworks
+     * Keeps the {@code k} largest elements under {@code order} in a min-heap of size k.
+     * @return Those elements, largest first
      */
-    private double calculateProficiencyScore(Hackathon hackathon, Map<String, Integer> frameworkUsage) {
-        logger.info(frameworkUsage.toString());
-        List<String> techStack = hackathon.getTechStacks();
-        if (techStack == null || techStack.isEmpty()) {
-            return 0.0;
+    private static <T> List<T> topK(Collection<T> items, int k, Comparator<T> order) {
+        if (k <= 0) {
+            return Collections.emptyList();
         }
-        logger.info(" Hackathon Tech stacks: " + techStack);
-
-        // Normalize tech stack and keys for case-insensitive match
-        Set<String> userFrameworksLower = frameworkUsage.keySet().stream()
-                .map(String::toLowerCase)
-                .map(String::trim)
-                .map(x->x.replaceAll(" ", ""))
-                .collect(Collectors.toSet());
-        logger.info(" User Framework Usage: " + userFrameworksLower);
-        double totalScore = 0.0;
-
-        for (String framework : techStack) {
-            logger.info(" Framework: " + framework);
-
-            String lowerFramework = framework.toLowerCase().trim().replaceAll(" ", "");
-            logger.info(" LowerFramework: " + lowerFramework);
-            for (String userFramework : userFrameworksLower) {
-                if (userFramework.equals(lowerFramework)) {
-                    // Case-insensitive match
-                    logger.info(" Framework Matches: " + frameworkUsage.get(framework));
-                    totalScore += frameworkUsage.getOrDefault(framework, 0);
-                    logger.info(" Matched framework " + userFramework );
-                    break;
-                }
+        PriorityQueue<T> heap = new PriorityQueue<>(k, order);
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (order.compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(item);
             }
-            logger.info("Matched score"+ totalScore );
         }
-
-        return totalScore;
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
     }
 
     /**
@@ -0,0 +1,154 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable grid index over the coordinates of a set of hackathons.
+ * The globe is split into 1° x 1° cells; a lookup only visits the cells overlapping the search
+ * circle's bounding box, drops entries outside the box and runs haversine on the rest.
+ * {@link HackathonCatalog} builds one over the active hackathons with every snapshot it publishes,
+ * so nearby lookups never build it on a request thread and are never staler than the catalog.
+ */
+public final class HackathonSpatialIndex {
+
+    private static final double CELL_DEGREES = 1.0;
+    private static final int LAT_CELLS = (int) (180 / CELL_DEGREES);
+    private static final int LON_CELLS = (int) (360 / CELL_DEGREES);
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final Map<Integer, Cell> cells;
+
+    public record Match(String hackathonId, double distanceKm) {
+    }
+
+    private HackathonSpatialIndex(Map<Integer, Cell> cells) {
+        this.cells = cells;
+    }
+
+    public static HackathonSpatialIndex build(List<Hackathon> hackathons) {
+        Map<Integer, Cell> cells = new HashMap<>();
+        for (Hackathon hackathon : hackathons) {
+            if (!isIndexable(hackathon)) {
+                continue;
+            }
+            int key = cellKey(hackathon.getLatitude(), hackathon.getLongitude());
+            cells.computeIfAbsent(key, k -> new Cell()).add(hackathon.getId(), hackathon.getLatitude(),
+                    hackathon.getLongitude(), registrationEndMillis(hackathon));
+        }
+        return new HackathonSpatialIndex(cells);
+    }
+
+    /**
+     * @return Hackathons whose registration is still open within {@code radiusKm} of the point, nearest first
+     */
+    public List<Match> findWithin(double latitude, double longitude, double radiusKm) {
+        long now = System.currentTimeMillis();
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        // The box is widest at the latitude closest to a pole
+        double widestLat = Math.min(90.0, Math.abs(latitude) + latDelta);
+        double cosLat = Math.cos(Math.toRadians(widestLat));
+        double lonDelta = cosLat < 1e-9 ? 180.0 : radiusKm / (KM_PER_DEGREE * cosLat);
+
+        int fromLatCell = latCell(Math.max(-90.0, latitude - latDelta));
+        int toLatCell = latCell(Math.min(90.0, latitude + latDelta));
+        int fromLonCell = (int) Math.floor((longitude - lonDelta + 180.0) / CELL_DEGREES);
+        int toLonCell = (int) Math.floor((longitude + lonDelta + 180.0) / CELL_DEGREES);
+        boolean allLongitudes = lonDelta >= 180.0 || toLonCell - fromLonCell + 1 >= LON_CELLS;
+        if (allLongitudes) {
+            fromLonCell = 0;
+            toLonCell = LON_CELLS - 1;
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int latIndex = fromLatCell; latIndex <= toLatCell; latIndex++) {
+            for (int lonIndex = fromLonCell; lonIndex <= toLonCell; lonIndex++) {
+                Cell cell = cells.get(latIndex * LON_CELLS + Math.floorMod(lonIndex, LON_CELLS));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    if (cell.registrationEnds[i] <= now) {
+                        continue;
+                    }
+                    // Bounding box prefilter before the trigonometry
+                    if (Math.abs(cell.latitudes[i] - latitude) > latDelta) {
+                        continue;
+                    }
+                    double lonDiff = Math.abs(cell.longitudes[i] - longitude);
+                    lonDiff = Math.min(lonDiff, 360.0 - lonDiff);
+                    if (!allLongitudes && lonDiff > lonDelta) {
+                        continue;
+                    }
+                    double distance = haversineKm(latitude, longitude, cell.latitudes[i], cell.longitudes[i]);
+                    if (distance <= radiusKm) {
+                        matches.add(new Match(cell.ids[i], distance));
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::distanceKm));
+        return matches;
+    }
+
+    private static boolean isIndexable(Hackathon hackathon) {
+        return hackathon.getId() != null && hackathon.getLatitude() != null && hackathon.getLongitude() != null
+                && hackathon.getRegistrationDates() != null && hackathon.getRegistrationDates().getEnd() != null;
+    }
+
+    private static long registrationEndMillis(Hackathon hackathon) {
+        return hackathon.getRegistrationDates().getEnd().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90.0) / CELL_DEGREES));
+    }
+
+    private static int cellKey(double latitude, double longitude) {
+        int lonIndex = Math.floorMod((int) Math.floor((longitude + 180.0) / CELL_DEGREES), LON_CELLS);
+        return latCell(latitude) * LON_CELLS + lonIndex;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * Entries of one grid cell as parallel primitive arrays, never modified after the build.
+     */
+    private static final class Cell {
+        private String[] ids = new String[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private long[] registrationEnds = new long[4];
+        private int size;
+
+        void add(String id, double latitude, double longitude, long registrationEnd) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                registrationEnds = Arrays.copyOf(registrationEnds, capacity);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            registrationEnds[size] = registrationEnd;
+            size++;
+        }
+    }
+}
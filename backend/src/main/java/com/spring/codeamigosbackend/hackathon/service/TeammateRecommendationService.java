@@ -0,0 +1,276 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.recommendation.events.FrameworkStatsUpdatedEvent;
+import com.spring.codeamigosbackend.recommendation.models.UserFrameworkStats;
+import com.spring.codeamigosbackend.recommendation.repositories.UserFrameworkStatsRepository;
+import com.spring.codeamigosbackend.recommendation.utils.Mappings;
+import com.spring.codeamigosbackend.registration.dto.UserSummary;
+import com.spring.codeamigosbackend.registration.service.UserLookupService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Suggests teammates for a hackathon: users whose framework stats cover the hackathon's tech
+ * stacks that the creator and the accepted users do not know yet.
+ * <p>
+ * Backed by an in-memory index of framework to its strongest users (by file count), rebuilt
+ * periodically and updated when a user's stats are saved. Selection is greedy set cover: pick
+ * the user covering the most still missing frameworks, repeat; once everything is covered the
+ * remaining slots go to the strongest users in the hackathon's frameworks.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeammateRecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeammateRecommendationService.class);
+
+    private static final int TOP_USERS_PER_FRAMEWORK = 200;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final UserFrameworkStatsRepository userFrameworkStatsRepository;
+    private final UserLookupService userLookupService;
+    private final HackathonService hackathonService;
+
+    private volatile Index index = new Index(Map.of(), Map.of());
+    // Stats saved while a rebuild reads the collection, re-applied on top of its result. Null when no rebuild runs
+    private Map<String, Map<String, Integer>> updatesDuringRebuild;
+    // Keeps the startup and the scheduled rebuild from overlapping
+    private final Object rebuildLock = new Object();
+
+    public record TeammateSuggestion(String userId, String username, List<String> frameworks, int files) {
+    }
+
+    private record FrameworkUser(String userId, int files) {
+    }
+
+    /**
+     * @param usageByUser    User id to normalized framework to file count
+     * @param topByFramework Normalized framework to its users with the most files, descending
+     */
+    private record Index(Map<String, Map<String, Integer>> usageByUser, Map<String, List<FrameworkUser>> topByFramework) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${teammates.index.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${teammates.index.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                updatesDuringRebuild = new HashMap<>();
+            }
+            try {
+                rebuildIndex();
+            } finally {
+                synchronized (this) {
+                    updatesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void rebuildIndex() {
+        Map<String, Map<String, Integer>> usageByUser = new HashMap<>();
+        try {
+            Page<UserFrameworkStats> batch;
+            int pageNumber = 0;
+            do {
+                batch = userFrameworkStatsRepository.findAll(PageRequest.of(pageNumber++, REBUILD_BATCH_SIZE));
+                for (UserFrameworkStats stats : batch.getContent()) {
+                    if (stats.getUserId() != null && stats.getFrameworkUsage() != null) {
+                        usageByUser.put(stats.getUserId(), normalize(stats.getFrameworkUsage()));
+                    }
+                }
+            } while (batch.hasNext());
+        } catch (Exception e) {
+            logger.warn("Could not rebuild the teammate index: {}", e.getMessage());
+            return;
+        }
+
+        Map<String, List<FrameworkUser>> topByFramework = new HashMap<>();
+        usageByUser.forEach((userId, usage) -> usage.forEach((framework, files) ->
+                topByFramework.computeIfAbsent(framework, f -> new ArrayList<>()).add(new FrameworkUser(userId, files))));
+        topByFramework.replaceAll((framework, users) -> topUsers(users));
+
+        synchronized (this) {
+            // The read above may have missed or predate these, and they were applied to the index being replaced
+            Index rebuilt = new Index(usageByUser, topByFramework);
+            for (Map.Entry<String, Map<String, Integer>> update : updatesDuringRebuild.entrySet()) {
+                rebuilt = withUsage(rebuilt, update.getKey(), update.getValue());
+            }
+            index = rebuilt;
+        }
+        logger.info("Teammate index rebuilt for {} users and {} frameworks", usageByUser.size(), topByFramework.size());
+    }
+
+    /**
+     * Moves the user within the lists of the frameworks they had or have now. A user pushed out of a
+     * full list leaves room that is only filled again by the next rebuild.
+     */
+    @EventListener
+    public synchronized void onFrameworkStatsUpdated(FrameworkStatsUpdatedEvent event) {
+        if (event.userId() == null || event.frameworkUsage() == null) {
+            return;
+        }
+        Map<String, Integer> usage = normalize(event.frameworkUsage());
+        if (updatesDuringRebuild != null) {
+            updatesDuringRebuild.put(event.userId(), usage);
+        }
+        index = withUsage(index, event.userId(), usage);
+    }
+
+    private static Index withUsage(Index current, String userId, Map<String, Integer> usage) {
+        Map<String, Integer> previous = current.usageByUser().getOrDefault(userId, Map.of());
+
+        Map<String, Map<String, Integer>> usageByUser = new HashMap<>(current.usageByUser());
+        usageByUser.put(userId, usage);
+        Map<String, List<FrameworkUser>> topByFramework = new HashMap<>(current.topByFramework());
+        Set<String> affected = new HashSet<>(previous.keySet());
+        affected.addAll(usage.keySet());
+        for (String framework : affected) {
+            List<FrameworkUser> users = new ArrayList<>(topByFramework.getOrDefault(framework, List.of()));
+            users.removeIf(user -> user.userId().equals(userId));
+            Integer files = usage.get(framework);
+            if (files != null) {
+                users.add(new FrameworkUser(userId, files));
+            }
+            topByFramework.put(framework, topUsers(users));
+        }
+        return new Index(usageByUser, topByFramework);
+    }
+
+    /**
+     * @param size Maximum number of suggestions
+     * @return Suggested users, set-cover picks first
+     */
+    public List<TeammateSuggestion> recommendTeammates(String hackathonId, int size) {
+        Hackathon hackathon = hackathonService.getHackathonById(hackathonId);
+        Set<String> required = new LinkedHashSet<>();
+        if (hackathon.getTechStacks() != null) {
+            hackathon.getTechStacks().stream()
+                    .filter(tech -> tech != null && !tech.isBlank())
+                    .map(Mappings::normalizeFramework)
+                    .forEach(required::add);
+        }
+        if (required.isEmpty() || size <= 0) {
+            return List.of();
+        }
+        Index current = index;
+
+        // The creator and accepted users are the team so far: skip them and what they already cover
+        Set<String> teamUsernames = new HashSet<>();
+        if (hackathon.getAcceptedUsers() != null) {
+            teamUsernames.addAll(hackathon.getAcceptedUsers());
+        }
+        if (hackathon.getCreatedBy() != null) {
+            teamUsernames.add(hackathon.getCreatedBy());
+        }
+        Set<String> teamIds = userLookupService.getSummariesByUsername(teamUsernames).values().stream()
+                .map(UserSummary::getId)
+                .collect(Collectors.toSet());
+        Set<String> uncovered = new LinkedHashSet<>(required);
+        for (String teamId : teamIds) {
+            uncovered.removeAll(current.usageByUser().getOrDefault(teamId, Map.of()).keySet());
+        }
+
+        // Candidate -> the hackathon's frameworks they know, with file counts
+        Map<String, Map<String, Integer>> candidates = new LinkedHashMap<>();
+        for (String framework : required) {
+            for (FrameworkUser user : current.topByFramework().getOrDefault(framework, List.of())) {
+                if (!teamIds.contains(user.userId())) {
+                    candidates.computeIfAbsent(user.userId(), id -> new HashMap<>()).put(framework, user.files());
+                }
+            }
+        }
+
+        List<String> selected = new ArrayList<>();
+        while (selected.size() < size && !uncovered.isEmpty()) {
+            String best = null;
+            int bestGain = 0;
+            int bestFiles = 0;
+            for (Map.Entry<String, Map<String, Integer>> candidate : candidates.entrySet()) {
+                int gain = 0;
+                int files = 0;
+                for (Map.Entry<String, Integer> known : candidate.getValue().entrySet()) {
+                    if (uncovered.contains(known.getKey())) {
+                        gain++;
+                        files += known.getValue();
+                    }
+                }
+                if (gain > bestGain || (gain == bestGain && gain > 0 && files > bestFiles)) {
+                    best = candidate.getKey();
+                    bestGain = gain;
+                    bestFiles = files;
+                }
+            }
+            if (best == null) {
+                // Nobody knows the remaining frameworks
+                break;
+            }
+            selected.add(best);
+            uncovered.removeAll(candidates.remove(best).keySet());
+        }
+
+        Function<Map<String, Integer>, Integer> totalFiles = known -> known.values().stream().mapToInt(Integer::intValue).sum();
+        Map<String, Map<String, Integer>> picked = new LinkedHashMap<>();
+        for (String userId : selected) {
+            picked.put(userId, current.usageByUser().getOrDefault(userId, Map.of()));
+        }
+        candidates.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<String, Map<String, Integer>> e) -> totalFiles.apply(e.getValue())).reversed())
+                .limit(Math.max(0, size - picked.size()))
+                .forEach(e -> picked.put(e.getKey(), e.getValue()));
+
+        Map<String, UserSummary> users = userLookupService.getSummaries(picked.keySet());
+        List<TeammateSuggestion> suggestions = new ArrayList<>();
+        picked.forEach((userId, usage) -> {
+            List<String> frameworks = required.stream().filter(usage::containsKey).collect(Collectors.toList());
+            int files = frameworks.stream().mapToInt(usage::get).sum();
+            UserSummary user = users.get(userId);
+            if (user != null) {
+                suggestions.add(new TeammateSuggestion(userId, user.getUsername(), frameworks, files));
+            }
+        });
+        return suggestions;
+    }
+
+    private static Map<String, Integer> normalize(Map<String, Integer> frameworkUsage) {
+        Map<String, Integer> normalized = new HashMap<>();
+        frameworkUsage.forEach((framework, files) -> {
+            if (framework != null && files != null && files > 0) {
+                normalized.merge(Mappings.normalizeFramework(framework), files, Integer::sum);
+            }
+        });
+        return Map.copyOf(normalized);
+    }
+
+    private static List<FrameworkUser> topUsers(List<FrameworkUser> users) {
+        return users.stream()
+                .sorted(Comparator.comparingInt(FrameworkUser::files).reversed())
+                .limit(TOP_USERS_PER_FRAMEWORK)
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
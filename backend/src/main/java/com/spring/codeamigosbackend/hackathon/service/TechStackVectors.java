@@ -0,0 +1,134 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.recommendation.utils.Mappings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable TF-IDF model of a set of hackathons' tech stacks.
+ * <p>
+ * Columns are {@link Mappings#FRAMEWORK_VOCABULARY} followed by any other token the hackathons use,
+ * so a stack the analysis cannot detect still counts towards the hackathon's norm.
+ * Each hackathon is one L2-normalized row of a flat float matrix (binary term frequency times IDF);
+ * a user vector weights log(1 + files) by the same IDF. Cosine similarity is then a plain dot product
+ * over contiguous floats, a loop the JIT vectorizes.
+ */
+public final class TechStackVectors {
+
+    private final Map<String, Integer> columnOf;
+    private final int dimensions;
+    private final float[] idf;
+    private final float[] rows;
+    private final Map<String, Integer> rowOf;
+
+    private TechStackVectors(Map<String, Integer> columnOf, float[] idf, float[] rows, Map<String, Integer> rowOf) {
+        this.columnOf = columnOf;
+        this.dimensions = idf.length;
+        this.idf = idf;
+        this.rows = rows;
+        this.rowOf = rowOf;
+    }
+
+    public static TechStackVectors build(List<Hackathon> hackathons) {
+        Map<String, Integer> columnOf = new HashMap<>();
+        for (String framework : Mappings.FRAMEWORK_VOCABULARY) {
+            columnOf.putIfAbsent(framework, columnOf.size());
+        }
+        List<Set<String>> tokensPerHackathon = new ArrayList<>(hackathons.size());
+        for (Hackathon hackathon : hackathons) {
+            Set<String> tokens = new LinkedHashSet<>();
+            if (hackathon.getTechStacks() != null) {
+                for (String tech : hackathon.getTechStacks()) {
+                    if (tech != null && !tech.isBlank()) {
+                        String token = Mappings.normalizeFramework(tech);
+                        tokens.add(token);
+                        columnOf.putIfAbsent(token, columnOf.size());
+                    }
+                }
+            }
+            tokensPerHackathon.add(tokens);
+        }
+
+        int d = columnOf.size();
+        int n = hackathons.size();
+        int[] documentFrequency = new int[d];
+        for (Set<String> tokens : tokensPerHackathon) {
+            for (String token : tokens) {
+                documentFrequency[columnOf.get(token)]++;
+            }
+        }
+        // Smoothed IDF: frameworks few hackathons ask for weigh more than ubiquitous ones
+        float[] idf = new float[d];
+        for (int j = 0; j < d; j++) {
+            idf[j] = (float) (Math.log((1.0 + n) / (1.0 + documentFrequency[j])) + 1.0);
+        }
+
+        float[] rows = new float[n * d];
+        Map<String, Integer> rowOf = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            int offset = i * d;
+            for (String token : tokensPerHackathon.get(i)) {
+                int column = columnOf.get(token);
+                rows[offset + column] = idf[column];
+            }
+            normalize(rows, offset, d);
+            rowOf.put(hackathons.get(i).getId(), i);
+        }
+        return new TechStackVectors(Map.copyOf(columnOf), idf, rows, Map.copyOf(rowOf));
+    }
+
+    /**
+     * @param frameworkUsage Framework name to number of files, as stored in UserFrameworkStats
+     * @return L2-normalized user vector in this model's columns
+     */
+    public float[] userVector(Map<String, Integer> frameworkUsage) {
+        float[] vector = new float[dimensions];
+        frameworkUsage.forEach((framework, files) -> {
+            if (framework == null || files == null || files <= 0) {
+                return;
+            }
+            Integer column = columnOf.get(Mappings.normalizeFramework(framework));
+            if (column != null) {
+                vector[column] += (float) (Math.log1p(files) * idf[column]);
+            }
+        });
+        normalize(vector, 0, dimensions);
+        return vector;
+    }
+
+    /**
+     * @return Cosine similarity between the user vector and the hackathon, 0 for unknown hackathons
+     */
+    public float cosine(float[] userVector, String hackathonId) {
+        Integer row = rowOf.get(hackathonId);
+        if (row == null) {
+            return 0f;
+        }
+        int offset = row * dimensions;
+        float dot = 0f;
+        for (int j = 0; j < dimensions; j++) {
+            dot += userVector[j] * rows[offset + j];
+        }
+        return dot;
+    }
+
+    private static void normalize(float[] values, int offset, int length) {
+        float sumOfSquares = 0f;
+        for (int j = offset; j < offset + length; j++) {
+            sumOfSquares += values[j] * values[j];
+        }
+        if (sumOfSquares == 0f) {
+            return;
+        }
+        float inverseNorm = (float) (1.0 / Math.sqrt(sumOfSquares));
+        for (int j = offset; j < offset + length; j++) {
+            values[j] *= inverseNorm;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.spring.codeamigosbackend.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the GitHub analysis pipeline.
+ * All tags are bounded enums (call type, stage, outcome) so the series count stays flat
+ * no matter how many users or repositories are analysed.
+ */
+@Component
+public class AnalysisMetrics {
+
+    public static final String CALL_GRAPHQL = "graphql";
+    public static final String CALL_COMMITS = "commits";
+    public static final String CALL_COMMIT = "commit";
+    public static final String CALL_TREE = "tree";
+    public static final String CALL_CONTENTS = "contents";
+
+    public static final String STAGE_FRAMEWORKS = "frameworks";
+    public static final String STAGE_FILES = "files";
+
+    private static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final MeterRegistry registry;
+    private final AtomicLong rateLimitRemaining = new AtomicLong(-1);
+    private final Counter rateLimited;
+    private final Counter retries;
+    private final Counter deadLettered;
+    private final Timer queueWait;
+
+    public AnalysisMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("github.ratelimit.remaining", rateLimitRemaining, AtomicLong::get)
+                .description("Last X-RateLimit-Remaining value returned by GitHub")
+                .register(registry);
+        this.rateLimited = Counter.builder("github.ratelimit.exceeded")
+                .description("GitHub calls rejected because the rate limit was exhausted")
+                .register(registry);
+        this.retries = Counter.builder("analysis.queue.retries")
+                .description("Redeliveries of a framework analysis message after a failure")
+                .register(registry);
+        this.deadLettered = Counter.builder("analysis.queue.dead_lettered")
+                .description("Framework analysis messages that ended up in the dead letter queue")
+                .register(registry);
+        this.queueWait = Timer.builder("analysis.queue.wait")
+                .description("Time between publishing an analysis request and the consumer picking it up")
+                .register(registry);
+    }
+
+    /**
+     * Times a single GitHub REST/GraphQL call and records the rate limit headers it returns.
+     *
+     * @param callType One of the {@code CALL_*} constants
+     * @param call     The call to execute
+     * @return The response of the call
+     */
+    public <T> ResponseEntity<T> githubCall(String callType, Supplier<ResponseEntity<T>> call) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        try {
+            ResponseEntity<T> response = call.get();
+            updateRateLimit(response.getHeaders());
+            return response;
+        } catch (HttpStatusCodeException e) {
+            outcome = isRateLimited(e) ? "rate_limited" : "http_" + e.getStatusCode().value() / 100 + "xx";
+            if ("rate_limited".equals(outcome)) {
+                rateLimited.increment();
+            }
+            updateRateLimit(e.getResponseHeaders());
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("github.api.requests")
+                    .description("Latency of GitHub API calls made during framework analysis")
+                    .tag("type", callType)
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public void stopRepoAnalysis(Timer.Sample sample, String stage) {
+        sample.stop(Timer.builder("analysis.repo.duration")
+                .description("Time spent analysing a single repository")
+                .tag("stage", stage)
+                .register(registry));
+    }
+
+    public void stopUserAnalysis(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("analysis.user.duration")
+                .description("End to end framework analysis time for one user")
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    public void recordQueueWait(Duration wait) {
+        if (!wait.isNegative()) {
+            queueWait.record(wait);
+        }
+    }
+
+    public void incrementRetry() {
+        retries.increment();
+    }
+
+    public void incrementDeadLettered() {
+        deadLettered.increment();
+    }
+
+    private boolean isRateLimited(HttpStatusCodeException e) {
+        int status = e.getStatusCode().value();
+        if (status == 429) {
+            return true;
+        }
+        HttpHeaders headers = e.getResponseHeaders();
+        return status == 403 && headers != null && "0".equals(headers.getFirst(RATE_LIMIT_REMAINING_HEADER));
+    }
+
+    private void updateRateLimit(HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+        String remaining = headers.getFirst(RATE_LIMIT_REMAINING_HEADER);
+        if (remaining != null) {
+            try {
+                rateLimitRemaining.set(Long.parseLong(remaining));
+            } catch (NumberFormatException ignored) {
+                // GitHub always sends a number, keep the previous value otherwise
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.spring.codeamigosbackend.monitoring;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Appends finished spans to a local file, one JSON object per line.
+ * Meant for local runs and tests where no OTLP collector is available.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSpanExporter.class);
+
+    private final Path path;
+
+    public FileSpanExporter(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        StringBuilder lines = new StringBuilder(spans.size() * 256);
+        for (SpanData span : spans) {
+            lines.append("{\"traceId\":\"").append(span.getTraceId())
+                    .append("\",\"spanId\":\"").append(span.getSpanId())
+                    .append("\",\"parentSpanId\":\"").append(span.getParentSpanId())
+                    .append("\",\"name\":\"").append(escape(span.getName()))
+                    .append("\",\"kind\":\"").append(span.getKind())
+                    .append("\",\"status\":\"").append(span.getStatus().getStatusCode())
+                    .append("\",\"startEpochNanos\":").append(span.getStartEpochNanos())
+                    .append(",\"durationMicros\":").append((span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000)
+                    .append("}\n");
+        }
+        try {
+            synchronized (this) {
+                Files.writeString(path, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            logger.warn("Could not write {} spans to {}: {}", spans.size(), path, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
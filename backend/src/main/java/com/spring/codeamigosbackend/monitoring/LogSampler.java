@@ -0,0 +1,20 @@
+package com.spring.codeamigosbackend.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one out of every {@code rate} calls through, for log lines on paths hit by every request.
+ */
+public class LogSampler {
+
+    private final AtomicLong counter = new AtomicLong();
+    private final int rate;
+
+    public LogSampler(int rate) {
+        this.rate = Math.max(rate, 1);
+    }
+
+    public boolean sample() {
+        return counter.getAndIncrement() % rate == 0;
+    }
+}
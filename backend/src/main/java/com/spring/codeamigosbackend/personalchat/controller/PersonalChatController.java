@@ -1,17 +1,19 @@
 package com.spring.codeamigosbackend.personalchat.controller;
 
+import com.spring.codeamigosbackend.personalchat.dto.MessagePage;
 import com.spring.codeamigosbackend.personalchat.dto.PersonalChatResponseDto;
-import com.spring.codeamigosbackend.personalchat.model.Message;
 import com.spring.codeamigosbackend.personalchat.repository.PersonalChatRepository;
 import com.spring.codeamigosbackend.personalchat.service.PersonalChatService;
 import com.spring.codeamigosbackend.personalchat.model.PersonalChat;
 import com.spring.codeamigosbackend.registration.model.User;
+import com.spring.codeamigosbackend.registration.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RequiredArgsConstructor
@@ -21,25 +23,42 @@ import java.util.Optional;
 public class PersonalChatController {
     private final PersonalChatService personalChatService;
     private final PersonalChatRepository personalChatRepository;
+    private final UserService userService;
 
     @PostMapping("/create_or_get_personal_chat/{member1Id}/{member2Id}")
     public ResponseEntity<?> createOrGetPersonalChat(@PathVariable String member1Id, @PathVariable String member2Id) {
         return ResponseEntity.ok(personalChatService.createOrGetPersonalChat(member1Id, member2Id));
     }
 
+    // Newest messages first page; pass nextCursor back as 'before' for older ones
     @GetMapping("/{member1Id}/{member2Id}/messages")
-    public ResponseEntity<?> getPersonalChatMessages(@PathVariable String member1Id, @PathVariable String member2Id,@RequestParam(value = "page", defaultValue = "0", required = false) int page,
+    public ResponseEntity<?> getPersonalChatMessages(@PathVariable String member1Id, @PathVariable String member2Id,
+                                                     @RequestParam(value = "before", required = false) String before,
                                                      @RequestParam(value = "size", defaultValue = "20", required = false) int size) {
-        List<Message> messages = personalChatService.getPersonalChatMessages(member1Id,member2Id);
-        if(messages == null || messages.isEmpty()) {
-            return ResponseEntity.noContent().build();
+        try {
+            MessagePage page = personalChatService.getMessagePage(member1Id, member2Id, before, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Clears the current user's unread count for this chat
+    @PostMapping("/{member1Id}/{member2Id}/read")
+    public ResponseEntity<?> markPersonalChatRead(@PathVariable String member1Id, @PathVariable String member2Id) {
+        String currentUserId = userService.getCurrentUserId();
+        if (currentUserId.equals(member1Id)) {
+            personalChatService.markRead(member1Id, member2Id);
+        } else if (currentUserId.equals(member2Id)) {
+            personalChatService.markRead(member2Id, member1Id);
+        } else {
+            return ResponseEntity.status(403).build();
         }
-        return ResponseEntity.ok(messages);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/all_personal_chats/{memberId}")
     public ResponseEntity<?> getAllPersonalChatsOfAMember(@PathVariable String memberId) {
-        System.out.println("getAllPersonalChatsOfAMember");
         List<PersonalChatResponseDto> personalChats = personalChatService.getPersonalChatsOfaMember(memberId);
         if(personalChats == null || personalChats.isEmpty()) {
             return ResponseEntity.noContent().build();
@@ -47,15 +66,6 @@ public class PersonalChatController {
         return ResponseEntity.ok(personalChats);
     }
 
-    @GetMapping("/all_messages/{member1Id}/{member2Id}")
-    public ResponseEntity<?> getAllMessageOfAPersonalChat(@PathVariable String member1Id, @PathVariable String member2Id) {
-        List<Message> messages = personalChatService.getAllMessagesOfAPersonalChat(member1Id,member2Id);
-        if(messages == null || messages.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.ok(messages);
-    }
-
 //    @PostMapping("/secret_key/{chatId}/")
 //    public ResponseEntity<?> setSecretKey(@RequestBody String secretKey, @PathVariable String chatId) {
 //        Optional<PersonalChat> chat = this.personalChatRepository.findById(chatId);
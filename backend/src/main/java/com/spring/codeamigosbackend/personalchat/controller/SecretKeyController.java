@@ -2,9 +2,12 @@ package com.spring.codeamigosbackend.personalchat.controller;
 
 import com.spring.codeamigosbackend.personalchat.model.PersonalChat;
 import com.spring.codeamigosbackend.personalchat.repository.PersonalChatRepository;
+import com.spring.codeamigosbackend.personalchat.service.PersonalChatService;
 import com.spring.codeamigosbackend.registration.service.UserService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,7 +20,9 @@ import java.util.Optional;
 @RequestMapping("/api")
 public class SecretKeyController {
     private final PersonalChatRepository personalChatRepository;
+    private final PersonalChatService personalChatService;
     private final UserService userService;
+    private static final Logger logger = LoggerFactory.getLogger(SecretKeyController.class);
 
     @Data
     private static class SecreKeysDto {
@@ -31,17 +36,14 @@ public class SecretKeyController {
             @PathVariable String member2Id,
            @RequestBody SecreKeysDto secretKeysDto
     ) {
-        // Use findByMemberIds to look up the chat
-        Optional<PersonalChat> chat = this.personalChatRepository.findByMemberIds(member1Id, member2Id);
-        System.out.println("Looking for chat with member1Id: " + member1Id + ", member2Id: " + member2Id);
-        if (chat.isPresent()) {
-            chat.get().setSecretKey(member1Id+":"+secretKeysDto.getSecretKey());
-            chat.get().setSecretKey1(member2Id+":"+secretKeysDto.getSecretKey1());
-            this.personalChatRepository.save(chat.get());
-            System.out.println("Updated secret key for chat with _id: " + chat.get().getId());
+        // Targeted $set, saving the whole chat could drop messages pushed into its preview meanwhile
+        boolean updated = this.personalChatService.setSecretKeys(member1Id, member2Id,
+                member1Id + ":" + secretKeysDto.getSecretKey(), member2Id + ":" + secretKeysDto.getSecretKey1());
+        if (updated) {
+            logger.debug("Updated secret key for chat of {} and {}", member1Id, member2Id);
             return ResponseEntity.ok().build();
         } else {
-            System.out.println("Chat not found for member1Id: " + member1Id + ", member2Id: " + member2Id);
+            logger.debug("Chat not found for member1Id: {}, member2Id: {}", member1Id, member2Id);
             return ResponseEntity.status(404).body("Chat not found");
         }
     }
@@ -50,31 +52,25 @@ public class SecretKeyController {
     public ResponseEntity<?> getSecretKey(
             @PathVariable String member1Id,
             @PathVariable String member2Id) {
-        // Use findByMemberIds to look up the chat
-        Optional<PersonalChat> chat = this.personalChatRepository.findByMemberIds(member1Id, member2Id);
-        System.out.println("Looking for chat with member1Id: " + member1Id + ", member2Id: " + member2Id);
+        Optional<PersonalChat> chat = this.personalChatRepository.findByPairKey(PersonalChat.pairKeyOf(member1Id, member2Id));
         if (chat.isPresent()) {
             String secretKey = chat.get().getSecretKey();
             String secretKey1 = chat.get().getSecretKey1();
             String currentUserId = this.userService.getCurrentUserId(); // Make a call to get current UserId
             if(secretKey == null && secretKey1 == null) {
-                System.out.println("No secret key found");
                 return ResponseEntity.status(404).body("Secret key not found");
             }
             if(secretKey.split(":")[0].equals(currentUserId) ){
-                System.out.println("Secret key found");
                 return ResponseEntity.ok(secretKey.split(":")[1]);
             }
             if(secretKey1.split(":")[0].equals(currentUserId) ){
-                System.out.println("Secret key 1 found");
                 return ResponseEntity.ok(secretKey1.split(":")[1]);
             }
             else{
-                System.out.println("Secret key not found");
                 return ResponseEntity.status(404).body("Secret key not found");
             }
         } else {
-            System.out.println("Chat not found for member1Id: " + member1Id + ", member2Id: " + member2Id);
+            logger.debug("Chat not found for member1Id: {}, member2Id: {}", member1Id, member2Id);
             return ResponseEntity.status(404).body("Chat not found");
         }
     }
@@ -0,0 +1,20 @@
+package com.spring.codeamigosbackend.personalchat.dto;
+
+import com.spring.codeamigosbackend.personalchat.model.Message;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of chat history, oldest message first. Pass {@code nextCursor} as {@code before} to get
+ * the messages preceding this page; null once the start of the chat is reached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessagePage {
+    private List<Message> items;
+    private String nextCursor;
+}
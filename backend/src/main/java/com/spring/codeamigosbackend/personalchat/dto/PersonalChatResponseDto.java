@@ -4,17 +4,17 @@ package com.spring.codeamigosbackend.personalchat.dto;
 import com.spring.codeamigosbackend.personalchat.model.Message;
 import lombok.Data;
 
-import java.util.List;
-
 @Data
 public class PersonalChatResponseDto {
     private String id;
     private String githubUserName;
-    private List<Message> messages;
-    public PersonalChatResponseDto(String githubUserName, List<Message> messages,String id) {
+    // Only the newest message, the history is paged through /{member1Id}/{member2Id}/messages
+    private Message lastMessage;
+    private int unreadCount;
+    public PersonalChatResponseDto(String githubUserName, Message lastMessage, int unreadCount, String id) {
         this.githubUserName = githubUserName;
-        this.messages = messages;
+        this.lastMessage = lastMessage;
+        this.unreadCount = unreadCount;
         this.id = id;
     }
 }
-
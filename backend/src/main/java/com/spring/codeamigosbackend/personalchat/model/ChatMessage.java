@@ -0,0 +1,38 @@
+package com.spring.codeamigosbackend.personalchat.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One message of a personal chat. Messages used to be embedded in {@link PersonalChat}; they live in
+ * their own collection so sending is a single insert and a chat's history can grow without bound.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "personal_chat_messages")
+// History of a chat in time order, _id breaks ties between messages of the same millisecond
+@CompoundIndex(name = "chat_timestamp_id", def = "{ 'chatId': 1, 'timestamp': 1, '_id': 1 }")
+public class ChatMessage {
+    @Id
+    private String id;
+    private String chatId;
+    private String sender;
+    private String content;
+    private LocalDateTime timestamp;
+
+    public ChatMessage(String chatId, String sender, String content, LocalDateTime timestamp) {
+        this.chatId = chatId;
+        this.sender = sender;
+        this.content = content;
+        this.timestamp = timestamp;
+    }
+
+    public Message toMessage() {
+        return new Message(sender, content, timestamp);
+    }
+}
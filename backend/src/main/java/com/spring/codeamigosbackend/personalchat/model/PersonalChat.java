@@ -4,22 +4,50 @@ package com.spring.codeamigosbackend.personalchat.model;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Document(collection = "personal_chat")
 public class PersonalChat {
     @Id
     private String id;
+    // Both indexed for the inbox query (member1Id = x or member2Id = x)
+    @Indexed
     @JsonProperty("chatId")
     private String member1Id;
+    @Indexed
     @JsonProperty("userId")
     private String member2Id;
+    // Both member ids in sorted order, see pairKeyOf. Unique, so a pair can only ever have one chat;
+    // sparse until every legacy chat has been backfilled
+    @Indexed(unique = true, sparse = true)
+    private String pairKey;
     private String secretKey;  // Encrypted with the receiver's public key
     private String secretKey1; // Encrypted with own sender's public key
 //    Stored as userID:chatSecretId
-    private List<Message> messages = new ArrayList<>();
-}
\ No newline at end of file
+    // Messages are stored in personal_chat_messages, see ChatMessage
+    // The newest messages in time order, capped by the $push/$slice of every send,
+    // so the inbox never reads the message collection
+    private List<Message> recentMessages = new ArrayList<>();
+    // Member id to messages they have not read yet
+    private Map<String, Integer> unreadCounts = new HashMap<>();
+
+    /**
+     * The same key whichever order the two members are given in.
+     */
+    public static String pairKeyOf(String memberId, String otherMemberId) {
+        return memberId.compareTo(otherMemberId) <= 0
+                ? memberId + ":" + otherMemberId
+                : otherMemberId + ":" + memberId;
+    }
+
+    public Message lastMessage() {
+        return recentMessages == null || recentMessages.isEmpty() ? null : recentMessages.get(recentMessages.size() - 1);
+    }
+}
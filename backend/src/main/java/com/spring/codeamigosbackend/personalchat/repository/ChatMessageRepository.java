@@ -0,0 +1,20 @@
+package com.spring.codeamigosbackend.personalchat.repository;
+
+import com.spring.codeamigosbackend.personalchat.model.ChatMessage;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChatMessageRepository extends MongoRepository<ChatMessage, String> {
+    // Newest first; pass page 0 of the wanted size as the Pageable
+    List<ChatMessage> findByChatIdOrderByTimestampDescIdDesc(String chatId, Pageable pageable);
+
+    // Keyset page of the messages sent before (timestamp, _id), newest first
+    @Query(value = "{ 'chatId': ?0, $or: [ { 'timestamp': { $lt: ?1 } }, { 'timestamp': ?1, '_id': { $lt: ?2 } } ] }",
+            sort = "{ 'timestamp': -1, '_id': -1 }")
+    List<ChatMessage> findByChatIdBefore(String chatId, LocalDateTime before, ObjectId beforeId, Pageable pageable);
+}
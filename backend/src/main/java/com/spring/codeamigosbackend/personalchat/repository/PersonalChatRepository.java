@@ -11,8 +11,12 @@ import java.util.List;
 import java.util.Optional;
 
 public interface PersonalChatRepository extends MongoRepository<PersonalChat, String> {
-    @Query("{ '$or': [ { 'member1Id': ?0, 'member2Id': ?1 }, { 'member1Id': ?1, 'member2Id': ?0 } ] }")
-    Optional<PersonalChat> findByMemberIds(String member1Id, String member2Id);
+    // Keys come from PersonalChat.pairKeyOf
+    Optional<PersonalChat> findByPairKey(String pairKey);
+
+    @Query(value = "{ 'pairKey': ?0 }", fields = "{ '_id': 1 }")
+    Optional<PersonalChat> findIdByPairKey(String pairKey);
+
     List<PersonalChat> findByMember1IdOrMember2Id(String member1Id, String member2Id);
 }
 
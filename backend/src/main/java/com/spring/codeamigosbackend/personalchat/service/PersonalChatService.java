@@ -1,105 +1,287 @@
 package com.spring.codeamigosbackend.personalchat.service;
 
 
+import com.spring.codeamigosbackend.personalchat.dto.MessagePage;
 import com.spring.codeamigosbackend.personalchat.dto.PersonalChatResponseDto;
 import com.spring.codeamigosbackend.personalchat.dto.PersonalChatSingleResponseDto;
+import com.spring.codeamigosbackend.personalchat.model.ChatMessage;
 import com.spring.codeamigosbackend.personalchat.model.Message;
 import com.spring.codeamigosbackend.personalchat.model.PersonalChat;
+import com.spring.codeamigosbackend.personalchat.repository.ChatMessageRepository;
 import com.spring.codeamigosbackend.personalchat.repository.PersonalChatRepository;
-import com.spring.codeamigosbackend.registration.model.User;
-import com.spring.codeamigosbackend.registration.repository.UserRepository;
+import com.spring.codeamigosbackend.registration.dto.UserSummary;
+import com.spring.codeamigosbackend.registration.service.UserLookupService;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class PersonalChatService {
     private final PersonalChatRepository personalChatRepository;
-    private final UserRepository userRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final UserLookupService userLookupService;
+    private final MongoTemplate mongoTemplate;
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
+    // Inline preview kept on the chat document
+    public static final int RECENT_MESSAGES = 20;
+    private static final Logger logger = LoggerFactory.getLogger(PersonalChatService.class);
     public PersonalChatSingleResponseDto    createOrGetPersonalChat(String member1Id, String member2Id) {
-        Optional<PersonalChat> existingChat = personalChatRepository.findByMemberIds(member1Id, member2Id);
+        // Both members in one lookup
+        Map<String, UserSummary> members = userLookupService.getSummaries(List.of(member1Id, member2Id));
+        UserSummary user1 = members.get(member1Id);
+        UserSummary user2 = members.get(member2Id);
+
+        String pairKey = PersonalChat.pairKeyOf(member1Id, member2Id);
+        Optional<PersonalChat> existingChat = personalChatRepository.findIdByPairKey(pairKey);
         if (existingChat.isPresent()) {
-            PersonalChatSingleResponseDto responseDto = new PersonalChatSingleResponseDto();
-            Optional<User> userI = userRepository.findById(member1Id);
-            Optional<User> userII = userRepository.findById(member2Id);
-            responseDto.setMessage(existingChat.get().getMessages());
-            responseDto.setMember1Name(userI.get().getGithubUsername());
-            responseDto.setMember2Name(userII.get().getGithubUsername());
-            return responseDto;
+            return existingChatResponse(existingChat.get(), user1, user2);
         }
 
-        User user1 = userRepository.findById(member1Id)
-                .orElseThrow(() -> new RuntimeException("User not found: " + member1Id));
-        User user2 = userRepository.findById(member2Id)
-                .orElseThrow(() -> new RuntimeException("User not found: " + member2Id));
+        if (user1 == null) {
+            throw new RuntimeException("User not found: " + member1Id);
+        }
+        if (user2 == null) {
+            throw new RuntimeException("User not found: " + member2Id);
+        }
 
         PersonalChat personalChat = new PersonalChat();
         personalChat.setMember1Id(user1.getId());
         personalChat.setMember2Id(user2.getId());
-        personalChatRepository.save(personalChat);
-        PersonalChatSingleResponseDto personalChatSingleResponseDto = new PersonalChatSingleResponseDto();
-        Optional<User> userA = userRepository.findById(personalChat.getMember1Id());
-        Optional<User> userB = userRepository.findById(personalChat.getMember2Id());
-        if (userA.isPresent() && userB.isPresent()) {
-            personalChatSingleResponseDto.setMember1Name(userA.get().getGithubUsername());
-            personalChatSingleResponseDto.setMember2Name(userB.get().getGithubUsername());
-            personalChatSingleResponseDto.setMessage(personalChat.getMessages());
+        personalChat.setPairKey(pairKey);
+        try {
+            personalChatRepository.insert(personalChat);
+        } catch (DuplicateKeyException e) {
+            // Another request created the chat between our lookup and insert
+            PersonalChat created = personalChatRepository.findIdByPairKey(pairKey).orElseThrow(() -> e);
+            return existingChatResponse(created, user1, user2);
         }
+        PersonalChatSingleResponseDto personalChatSingleResponseDto = new PersonalChatSingleResponseDto();
+        personalChatSingleResponseDto.setMember1Name(user1.getGithubUsername());
+        personalChatSingleResponseDto.setMember2Name(user2.getGithubUsername());
+        personalChatSingleResponseDto.setMessage(new ArrayList<>());
         return personalChatSingleResponseDto;
     }
 
-    public List<Message> getPersonalChatMessages(String member1Id, String member2Id) {
-        return personalChatRepository.findByMemberIds(member1Id, member2Id)
-                .map(PersonalChat::getMessages)
-                .orElse(Collections.emptyList());
-    }
-
     public List<PersonalChatResponseDto> getPersonalChatsOfaMember(String memberId) {
         List<PersonalChat> personalChats = personalChatRepository.findByMember1IdOrMember2Id(memberId, memberId);
-        System.out.println("Fetched personal chats: " + personalChats);
+        logger.debug("Fetched {} personal chats for member {}", personalChats.size(), memberId);
+
+        // Resolve every chat partner with a single $in query instead of one findById per chat
+        List<String> otherUserIds = new ArrayList<>();
+        for (PersonalChat chat : personalChats) {
+            otherUserIds.add(otherMember(chat, memberId));
+        }
+        Map<String, UserSummary> otherUsers = userLookupService.getSummaries(otherUserIds);
 
         List<PersonalChatResponseDto> responseList = new ArrayList<>();
 
         for (PersonalChat chat : personalChats) {
-            String otherUserId = chat.getMember1Id().equals(memberId) ? chat.getMember2Id() : chat.getMember1Id();
+            String otherUserId = otherMember(chat, memberId);
 
             if (otherUserId == null) {
-                System.err.println("Error: Other User ID is null for chat: " + chat);
+                logger.warn("Other user id is null for chat {}", chat.getId());
                 continue;
             }
 
-            System.out.println("Fetching user details for ID: " + otherUserId);
-
-            Optional<User> optionalUser = userRepository.findById(otherUserId);
-            if (optionalUser.isEmpty()) {
-                System.err.println("Error: User not found for ID: " + otherUserId);
+            UserSummary otherUser = otherUsers.get(otherUserId);
+            if (otherUser == null) {
+                logger.warn("User not found for id {}", otherUserId);
                 continue;
             }
 
-            User otherUser = optionalUser.get();
-            System.out.println("Found user: " + otherUser);
+            // Everything comes from the chat document, the message collection is not touched
+            Map<String, Integer> unreadCounts = chat.getUnreadCounts();
             responseList.add(new PersonalChatResponseDto(
                     otherUser.getGithubUsername(),
-                    chat.getMessages(),
+                    chat.lastMessage(),
+                    unreadCounts == null ? 0 : unreadCounts.getOrDefault(memberId, 0),
                     otherUser.getId()
             ));
         }
-        System.out.println("Final Response List: " + responseList);
         return responseList;
     }
 
-    public List<Message> getAllMessagesOfAPersonalChat(String member1,String member2){
-        Optional<PersonalChat> personalChat = personalChatRepository.findByMemberIds(member1,member2);
-        if (personalChat.isPresent()) {
-            return personalChat.get().getMessages();
+    private static String otherMember(PersonalChat chat, String memberId) {
+        return memberId.equals(chat.getMember1Id()) ? chat.getMember2Id() : chat.getMember1Id();
+    }
+
+    // Only the newest page of the history, older messages are paged through getMessagePage
+    private PersonalChatSingleResponseDto existingChatResponse(PersonalChat chat, UserSummary user1, UserSummary user2) {
+        PersonalChatSingleResponseDto responseDto = new PersonalChatSingleResponseDto();
+        responseDto.setMessage(pageOf(chat.getId(), null, RECENT_MESSAGES).getItems());
+        responseDto.setMember1Name(user1 != null ? user1.getGithubUsername() : null);
+        responseDto.setMember2Name(user2 != null ? user2.getGithubUsername() : null);
+        return responseDto;
+    }
+
+    /**
+     * One page of the chat history, walking back from the newest message.
+     *
+     * @param before {@code nextCursor} of the previous page, null for the newest messages
+     */
+    public MessagePage getMessagePage(String member1Id, String member2Id, String before, int size) {
+        Optional<PersonalChat> personalChat = personalChatRepository.findIdByPairKey(PersonalChat.pairKeyOf(member1Id, member2Id));
+        if (personalChat.isEmpty()) {
+            return new MessagePage(List.of(), null);
+        }
+        return pageOf(personalChat.get().getId(), before, size);
+    }
+
+    private MessagePage pageOf(String chatId, String before, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_MESSAGE_PAGE_SIZE));
+        PageRequest limit = PageRequest.of(0, pageSize);
+
+        List<ChatMessage> newestFirst;
+        if (before == null || before.isBlank()) {
+            newestFirst = chatMessageRepository.findByChatIdOrderByTimestampDescIdDesc(chatId, limit);
+        } else {
+            MessageCursor cursor = decodeCursor(before);
+            newestFirst = chatMessageRepository.findByChatIdBefore(chatId, cursor.timestamp(), cursor.id(), limit);
+        }
+
+        String nextCursor = newestFirst.size() < pageSize ? null : encodeCursor(newestFirst.get(newestFirst.size() - 1));
+        List<Message> items = new ArrayList<>(newestFirst.size());
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            items.add(newestFirst.get(i).toMessage());
+        }
+        return new MessagePage(items, nextCursor);
+    }
+
+    /**
+     * Stores one message of the chat between the two members. Nothing is read and written back:
+     * one findAndModify finds the chat and atomically $pushes the message into its capped preview
+     * (sorted by time, so racing senders still end up in order) and bumps the recipient's unread
+     * count; then the message is inserted into the history. Concurrent senders cannot overwrite each other.
+     * <p>
+     * The two writes are not one transaction. If the history insert fails after the push, the message
+     * is pulled from the preview and the unread count is given back before the error is rethrown, so
+     * the sender can retry without a duplicate showing up in the inbox.
+     */
+    public Message sendMessage(String member1Id, String member2Id, String sender, String content) {
+        Message message = new Message(sender, content, LocalDateTime.now());
+
+        Update update = new Update();
+        update.push("recentMessages").sort(Sort.by("timestamp")).slice(-RECENT_MESSAGES).each(message);
+        String recipientId = recipientOf(member1Id, member2Id, sender);
+        if (recipientId != null) {
+            update.inc("unreadCounts." + recipientId, 1);
+        }
+        Query chatQuery = pairQuery(member1Id, member2Id);
+        chatQuery.fields().include("_id");
+        PersonalChat personalChat = mongoTemplate.findAndModify(chatQuery, update, PersonalChat.class);
+        if (personalChat == null) {
+            throw new RuntimeException("Personal chat not found");
+        }
+
+        try {
+            chatMessageRepository.insert(new ChatMessage(personalChat.getId(), sender, content, message.getTimestamp()));
+        } catch (RuntimeException e) {
+            undoPreview(personalChat.getId(), message, recipientId);
+            throw e;
+        }
+        return message;
+    }
+
+    // Takes a message whose history insert failed back out of the chat document
+    private void undoPreview(String chatId, Message message, String recipientId) {
+        try {
+            Query pushed = Query.query(Criteria.where("sender").is(message.getSender())
+                    .and("content").is(message.getContent())
+                    .and("timestamp").is(message.getTimestamp()));
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(chatId)),
+                    new Update().pull("recentMessages", pushed), PersonalChat.class);
+            if (recipientId != null) {
+                String unread = "unreadCounts." + recipientId;
+                // Not below zero, the recipient may have read the chat in between
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(chatId).and(unread).gt(0)),
+                        new Update().inc(unread, -1), PersonalChat.class);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not undo the preview of a failed message in chat {}", chatId, e);
+        }
+    }
+
+    /**
+     * Sets both wrapped chat keys with one $set, leaving the rest of the chat document alone.
+     *
+     * @return False if there is no chat between the two members
+     */
+    public boolean setSecretKeys(String member1Id, String member2Id, String secretKey, String secretKey1) {
+        Update update = new Update().set("secretKey", secretKey).set("secretKey1", secretKey1);
+        return mongoTemplate.updateFirst(pairQuery(member1Id, member2Id), update, PersonalChat.class).getMatchedCount() > 0;
+    }
+
+    private static Query pairQuery(String member1Id, String member2Id) {
+        return Query.query(Criteria.where("pairKey").is(PersonalChat.pairKeyOf(member1Id, member2Id)));
+    }
+
+    /**
+     * Resets the reader's unread count of the chat with the other member.
+     */
+    public void markRead(String readerId, String otherMemberId) {
+        mongoTemplate.updateFirst(pairQuery(readerId, otherMemberId),
+                new Update().set("unreadCounts." + readerId, 0), PersonalChat.class);
+    }
+
+    // Senders are identified by name in the STOMP payload; the recipient is whichever member did not send
+    private String recipientOf(String member1Id, String member2Id, String sender) {
+        String senderId = userLookupService.resolveIdByUsername(sender)
+                .or(() -> userLookupService.resolveIdByGithubUsername(sender))
+                .orElse(null);
+        if (senderId == null) {
+            return null;
+        }
+        if (senderId.equals(member1Id)) {
+            return member2Id;
+        }
+        if (senderId.equals(member2Id)) {
+            return member1Id;
+        }
+        return null;
+    }
+
+    private record MessageCursor(LocalDateTime timestamp, ObjectId id) {
+    }
+
+    private static String encodeCursor(ChatMessage message) {
+        // The migration backfills missing timestamps; a message without one still gets a cursor in its id's second
+        long millis = message.getTimestamp() == null
+                ? new ObjectId(message.getId()).getDate().getTime()
+                : message.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String raw = millis + "|" + message.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            long millis = Long.parseLong(raw.substring(0, separator));
+            LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+            return new MessageCursor(timestamp, new ObjectId(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
-        return Collections.emptyList();
     }
 }
 
@@ -73,6 +73,8 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory){
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jackson2JsonMessageConverter());
+        // Writes the current trace context into the message headers
+        rabbitTemplate.setObservationEnabled(true);
         return rabbitTemplate;
     }
 
@@ -87,6 +89,8 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(converter);
+        // Continues the producer's trace from the message headers on the consumer side
+        factory.setObservationEnabled(true);
         // Added this for automatic error handling with 1s as inital time and then 2 s , 4s, till 10 as max interval
         //Use the retry mechanism , i.e of the RetryInterceptorBuilder.
         factory.setAdviceChain(RetryInterceptorBuilder.stateless().maxAttempts(2).recoverer(republishMessageRecoverer).backOffOptions(1000,3.0,5000).build());
@@ -2,6 +2,7 @@ package com.spring.codeamigosbackend.rabbitmq.consumer;
 
 
 import com.spring.codeamigosbackend.hackathon.service.MailService;
+import com.spring.codeamigosbackend.monitoring.AnalysisMetrics;
 import com.spring.codeamigosbackend.recommendation.dtos.GithubScoreRequest;
 import io.github.cdimascio.dotenv.Dotenv;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,7 @@ public class DeadLetterQueueConsumer {
     private static final String NO_STACK_TRACE = "No stack trace available";
 
     private final MailService mailService;
+    private final AnalysisMetrics analysisMetrics;
 
 private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load(); 
 
@@ -40,6 +42,7 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
      */
     @RabbitListener(queues = "${rabbitmq.dlq.queue}")
     public void handleDeadLetterMessage(@Payload GithubScoreRequest request, @Headers Map<String, Object> headers) {
+        analysisMetrics.incrementDeadLettered();
         String stackTrace = extractStackTrace(headers);
         logger.error("Received DLQ message for user: {}, error: {}", request.getUsername(), stackTrace);
 
@@ -4,8 +4,7 @@ import com.spring.codeamigosbackend.recommendation.dtos.GithubScoreRequest;
 import com.spring.codeamigosbackend.recommendation.models.UserFrameworkStats;
 import com.spring.codeamigosbackend.recommendation.repositories.UserFrameworkStatsRepository;
 import com.spring.codeamigosbackend.recommendation.utils.ApiException;
-import com.spring.codeamigosbackend.registration.model.User;
-import com.spring.codeamigosbackend.registration.repository.UserRepository;
+import com.spring.codeamigosbackend.registration.service.UserLookupService;
 import io.github.cdimascio.dotenv.Dotenv;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -14,13 +13,14 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class RabbitMqProducer {
 
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
     private final UserFrameworkStatsRepository statsRepository;
     private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load(); 
     private final RabbitTemplate rabbitTemplate;
@@ -30,9 +30,9 @@ public class RabbitMqProducer {
     private final String routingKey = dotenv.get("rabbitmq.routingKey") ;
 
     public void sendUserToQueue(GithubScoreRequest user) {
-        User user1 = userRepository.findByUsername(user.getUsername())
+        String userId = userLookupService.resolveIdByUsername(user.getUsername())
                 .orElseThrow(() -> new ApiException(404, "User not found"));
-        Optional<UserFrameworkStats> optionalUserFrameworkStats = this.statsRepository.findByUserId(user1.getId());
+        Optional<UserFrameworkStats> optionalUserFrameworkStats = this.statsRepository.findByUserId(userId);
         if (optionalUserFrameworkStats.isPresent()) {
             UserFrameworkStats userFrameworkStat = optionalUserFrameworkStats.get();
             LocalDateTime lastUpdated = userFrameworkStat.getLastUpdated();
@@ -47,6 +47,10 @@ public class RabbitMqProducer {
             }
         }
         logger.info("Sending user {} to queue", user.getUsername());
-        rabbitTemplate.convertAndSend(exchangeName, routingKey, user);
+        // Stamp the publish time so the consumer can measure how long the request waited in the queue
+        rabbitTemplate.convertAndSend(exchangeName, routingKey, user, message -> {
+            message.getMessageProperties().setTimestamp(new Date());
+            return message;
+        });
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.spring.codeamigosbackend.recommendation.configs;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 @Configuration
 public class ConfigFile {
+        // Built through the auto-configured builder so every outgoing call gets an http.client.requests observation (metric + child span)
         @Bean
-        public RestTemplate restTemplate() {
-            return new RestTemplate();
+        public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+            return restTemplateBuilder.build();
         }
 }
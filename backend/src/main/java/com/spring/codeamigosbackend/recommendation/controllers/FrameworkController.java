@@ -27,7 +27,6 @@ public class FrameworkController {
      */
     public void setGithubScore(@RequestBody GithubScoreRequest request) {
         try {
-            System.out.println(request.getUsername());
             frameworkAnalysisService.analyseUserFrameworkStats(request);
         } catch (ApiException e) {
             logger.error(e.getMessage());
@@ -0,0 +1,9 @@
+package com.spring.codeamigosbackend.recommendation.events;
+
+import java.util.Map;
+
+/**
+ * Published after a user's framework stats were saved by the GitHub analysis.
+ */
+public record FrameworkStatsUpdatedEvent(String userId, String username, Map<String, Integer> frameworkUsage) {
+}
@@ -1,18 +1,27 @@
 package com.spring.codeamigosbackend.recommendation.services;
+import com.spring.codeamigosbackend.monitoring.AnalysisMetrics;
 import com.spring.codeamigosbackend.recommendation.dtos.GithubScoreRequest;
 import com.spring.codeamigosbackend.recommendation.dtos.RepositoryInfo;
+import com.spring.codeamigosbackend.recommendation.events.FrameworkStatsUpdatedEvent;
 import com.spring.codeamigosbackend.recommendation.models.UserFrameworkStats;
 import com.spring.codeamigosbackend.recommendation.repositories.UserFrameworkStatsRepository;
 import com.spring.codeamigosbackend.recommendation.utils.ApiException;
-import com.spring.codeamigosbackend.registration.model.User;
-import com.spring.codeamigosbackend.registration.repository.UserRepository;
+import com.spring.codeamigosbackend.registration.service.UserLookupService;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -21,13 +30,14 @@ import java.util.*;
 public class FrameworkAnalysisService {
     private final GithubApiService githubApiService;
     private final UserFrameworkStatsRepository userFrameworkStatsRepository;
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
+    private final AnalysisMetrics analysisMetrics;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger logger = LoggerFactory.getLogger(FrameworkAnalysisService.class);
 
     public void analyseUserFrameworkStats(GithubScoreRequest request) {
         // Validate request
-        System.out.println(request);
-        logger.info("Analysing user framework stats"+request);
+        logger.info("Analysing user framework stats for {}", request.getUsername());
         if (request.getUsername() == null || request.getAccessToken() == null) {
             throw new ApiException(400, "Username and access token are required");
         }
@@ -38,7 +48,7 @@ public class FrameworkAnalysisService {
                 request.getEmail(),
                 request.getAccessToken()
         );
-        logger.info(repositories.toString());
+        logger.debug("Fetched {} repositories for {}", repositories.size(), request.getUsername());
         if (repositories.isEmpty()) {
             throw new ApiException(404, "No repositories found for user: " + request.getUsername());
         }
@@ -49,8 +59,10 @@ public class FrameworkAnalysisService {
                 request.getUsername(),
                 request.getAccessToken()
         );
-        System.out.println("Frameworks in repos: "+ repoToFrameworks.keySet().stream().map(RepositoryInfo::getName).toList().toString());
-        logger.info(repoToFrameworks.values().toString());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Frameworks in repos: {}", repoToFrameworks.keySet().stream().map(RepositoryInfo::getName).toList());
+            logger.debug("Detected frameworks: {}", repoToFrameworks.values());
+        }
 
         // Step 3: Count files associated with each framework
         Map<String, Integer> frameworkToFileCounts = githubApiService.countFrameworkFiles(
@@ -58,55 +70,60 @@ public class FrameworkAnalysisService {
                 request.getUsername(),
                 request.getAccessToken()
         );
-        logger.info("Framework to file count {} ",frameworkToFileCounts.toString());
-        Optional<User> user = this.userRepository.findByUsername(request.getUsername());
-        User user1 = null;
-        if (user.isPresent()) {
-            user1 = user.get();
-        }else{
-            throw new ApiException(404, "No user found for user: " + request.getUsername());
-        }
+        logger.info("Framework to file count {} ",frameworkToFileCounts);
+        String userId = this.userLookupService.resolveIdByUsername(request.getUsername())
+                .orElseThrow(() -> new ApiException(404, "No user found for user: " + request.getUsername()));
 //        // If framework stats already present then delete them
 //        if (this.userFrameworkStatsRepository.getUserFrameworkStatsByUserId(user1.getId()) != null) {
 //            this.userFrameworkStatsRepository.delete(this.userFrameworkStatsRepository.getUserFrameworkStatsByUserId(user1.getId()));
 //        }
 
         UserFrameworkStats userFrameworkStats = new UserFrameworkStats();
-        userFrameworkStats.setUserId(user1.getId());
+        userFrameworkStats.setUserId(userId);
         userFrameworkStats.setFrameworkUsage(frameworkToFileCounts);
         userFrameworkStats.setLastUpdated(LocalDateTime.now());
-        Optional<User> optionalUser2 = this.userRepository.findByUsername(request.getUsername());
-        if(optionalUser2.isPresent() && !frameworkToFileCounts.isEmpty() && frameworkToFileCounts != null ){
-            logger.info("Found existing user: "+optionalUser2.get().getUsername());
-            User user2 = optionalUser2.get();
-            Optional<UserFrameworkStats> optionalUserFrameworkStats = this.userFrameworkStatsRepository.findByUserId(user1.getId());
+        if(frameworkToFileCounts != null && !frameworkToFileCounts.isEmpty()){
+            Optional<UserFrameworkStats> optionalUserFrameworkStats = this.userFrameworkStatsRepository.findByUserId(userId);
             if(optionalUserFrameworkStats.isPresent()){
-                logger.info("Found existing user framework stats: "+optionalUserFrameworkStats.get().getFrameworkUsage());
+                logger.debug("Found existing user framework stats: {}", optionalUserFrameworkStats.get().getFrameworkUsage());
                 UserFrameworkStats userFrameworkStats2 = optionalUserFrameworkStats.get();
                 userFrameworkStats2.setFrameworkUsage(frameworkToFileCounts);
                 userFrameworkStats2.setLastUpdated(LocalDateTime.now());
                 this.userFrameworkStatsRepository.save(userFrameworkStats2);
+                eventPublisher.publishEvent(new FrameworkStatsUpdatedEvent(userId, request.getUsername(), frameworkToFileCounts));
                 return ;
             }
         }
-        logger.info("Saving user framework stats: {}", userFrameworkStats);
+        logger.debug("Saving user framework stats: {}", userFrameworkStats);
         UserFrameworkStats savedUserFrameworks =  this.userFrameworkStatsRepository.save(userFrameworkStats);
-        logger.info("Saved user Frameworks: {}", savedUserFrameworks);
+        logger.debug("Saved user Frameworks: {}", savedUserFrameworks);
+        eventPublisher.publishEvent(new FrameworkStatsUpdatedEvent(userId, request.getUsername(), frameworkToFileCounts));
     }
 
     public UserFrameworkStats getUserFrameworkStats(String username) {
-        User user = this.userRepository.findByUsername(username).get();
-        UserFrameworkStats stats =  this.userFrameworkStatsRepository.findByUserId(user.getId()).get();
-        logger.info("Found user framework stats: {}", stats);
+        String userId = this.userLookupService.resolveIdByUsername(username).get();
+        UserFrameworkStats stats =  this.userFrameworkStatsRepository.findByUserId(userId).get();
+        logger.debug("Found user framework stats: {}", stats);
         return stats;
     }
 
     @RabbitListener(queues = {"${rabbitmq.queue}"})
-    public void calculateUserFrameworkStats(GithubScoreRequest request) {
+    public void calculateUserFrameworkStats(@Payload GithubScoreRequest request,
+                                            @Header(name = AmqpHeaders.TIMESTAMP, required = false) Date publishedAt) {
+        // The retry interceptor re-invokes this method for the same delivery, so only the first attempt waited in the queue
+        RetryContext retryContext = RetrySynchronizationManager.getContext();
+        if (retryContext != null && retryContext.getRetryCount() > 0) {
+            analysisMetrics.incrementRetry();
+        } else if (publishedAt != null) {
+            analysisMetrics.recordQueueWait(Duration.ofMillis(System.currentTimeMillis() - publishedAt.getTime()));
+        }
+        Timer.Sample sample = analysisMetrics.startTimer();
         try{
             logger.info("Processing message for user: {}", request.getUsername());
             this.analyseUserFrameworkStats(request);
+            analysisMetrics.stopUserAnalysis(sample, "success");
         }catch (Exception e){
+            analysisMetrics.stopUserAnalysis(sample, "failure");
             logger.error("Error processing message for user {}: {}", request.getUsername(), e.getMessage());
             throw e; // Rethrow to trigger retry mechanism Thus necessary for retry
         }
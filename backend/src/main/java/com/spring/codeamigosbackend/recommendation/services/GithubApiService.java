@@ -2,8 +2,12 @@ package com.spring.codeamigosbackend.recommendation.services;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.codeamigosbackend.monitoring.AnalysisMetrics;
 import com.spring.codeamigosbackend.recommendation.dtos.RepositoryInfo;
 import com.spring.codeamigosbackend.recommendation.utils.Mappings;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,8 +23,15 @@ import java.util.concurrent.*;
 public class GithubApiService {
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final AnalysisMetrics analysisMetrics;
     private static final String GITHUB_GRAPHQL_URL = "https://api.github.com/graphql";
+    // URI templates, expanded by the RestTemplate so the http.client.requests uri tag stays one value per endpoint
+    private static final String COMMITS_URL = "https://api.github.com/repos/{owner}/{repo}/commits?author={author}&per_page=100";
+    private static final String COMMIT_URL = "https://api.github.com/repos/{owner}/{repo}/commits/{sha}";
+    private static final String TREE_URL = "https://api.github.com/repos/{owner}/{repo}/git/trees/{branch}?recursive=1";
+    private static final String CONTENTS_URL = "https://api.github.com/repos/{owner}/{repo}/contents/{path}?ref={branch}";
     private static Logger logger = LoggerFactory.getLogger(GithubApiService.class);
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
 
     public List<RepositoryInfo> getTopRepositories(String username, String email, String accessToken) {
         // Step 1: Fetch top 25 repositories using GraphQL without commit history
@@ -33,11 +44,12 @@ public class GithubApiService {
         requestBody.put("query", query);
 
         HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
-        ResponseEntity<JsonNode> response = restTemplate.postForEntity(GITHUB_GRAPHQL_URL, request, JsonNode.class);
+        ResponseEntity<JsonNode> response = analysisMetrics.githubCall(AnalysisMetrics.CALL_GRAPHQL,
+                () -> restTemplate.postForEntity(GITHUB_GRAPHQL_URL, request, JsonNode.class));
 
         JsonNode data = response.getBody().get("data");
         if (data == null || data.get("user") == null || data.get("user").get("repositories") == null) {
-            logger.info("No repositories found for user: " + username);
+            logger.info("No repositories found for user: {}", username);
             return new ArrayList<>();
         }
 
@@ -47,7 +59,7 @@ public class GithubApiService {
             String name = repoNode.get("name").asText();
             JsonNode defaultBranchRef = repoNode.get("defaultBranchRef");
             if (defaultBranchRef == null || defaultBranchRef.get("name") == null) {
-                logger.info("Skipping repo " + name + ": No default branch found");
+                logger.debug("Skipping repo {}: No default branch found", name);
                 continue;
             }
             String defaultBranch = defaultBranchRef.get("name").asText();
@@ -66,7 +78,7 @@ public class GithubApiService {
 
         // Step 2: Fetch commit SHAs for each repository using the REST API, in parallel
         int threadPoolSize = Math.min(repoInfos.size(), 10);
-        ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
+        ExecutorService executor = newTracedPool(threadPoolSize);
         List<Future<Void>> futures = new ArrayList<>();
 
         for (RepositoryInfo repo : repoInfos) {
@@ -104,13 +116,21 @@ public class GithubApiService {
         return repoInfos;
     }
 
+    /**
+     * Fixed pool whose tasks inherit the caller's observation scope, so GitHub calls made on
+     * worker threads are recorded as child spans of the analysis that submitted them.
+     */
+    private ExecutorService newTracedPool(int threadPoolSize) {
+        return ContextExecutorService.wrap(Executors.newFixedThreadPool(threadPoolSize), () -> CONTEXT_SNAPSHOTS.captureAll());
+    }
+
     private List<String> fetchCommitShasForRepo(RepositoryInfo repo, String owner, String accessToken) {
-        String url = String.format("https://api.github.com/repos/%s/%s/commits?author=%s&per_page=100", owner, repo.getName(), owner);
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
         HttpEntity<String> entity = new HttpEntity<>(headers);
 
-        ResponseEntity<JsonNode> response = restTemplate.exchange(url, HttpMethod.GET, entity, JsonNode.class);
+        ResponseEntity<JsonNode> response = analysisMetrics.githubCall(AnalysisMetrics.CALL_COMMITS,
+                () -> restTemplate.exchange(COMMITS_URL, HttpMethod.GET, entity, JsonNode.class, owner, repo.getName(), owner));
         JsonNode commits = response.getBody();
 
         List<String> commitShas = new ArrayList<>();
@@ -119,7 +139,7 @@ public class GithubApiService {
                 commitShas.add(commit.get("sha").asText());
             }
         }
-        logger.info("Fetched {} commits for repository {}", commitShas.size(), repo.getName());
+        logger.debug("Fetched {} commits for repository {}", commitShas.size(), repo.getName());
         return commitShas;
     }
 
@@ -150,18 +170,21 @@ public class GithubApiService {
 
     public Map<RepositoryInfo, List<String>> getFrameworksForRepositories(List<RepositoryInfo> repositories, String owner, String accessToken) {
         int threadPoolSize = Math.min(repositories.size(), 10);
-        ExecutorService frameworkExecutor = Executors.newFixedThreadPool(threadPoolSize);
+        ExecutorService frameworkExecutor = newTracedPool(threadPoolSize);
         Map<RepositoryInfo, List<String>> repoToFrameworks = new ConcurrentHashMap<>();
         List<Future<Void>> frameworkFutures = new ArrayList<>();
 
         for (RepositoryInfo repo : repositories) {
             Callable<Void> task = () -> {
+                Timer.Sample sample = analysisMetrics.startTimer();
                 try {
                     List<String> frameworks = getFrameworkFromRepository(repo, owner, accessToken);
                     repoToFrameworks.put(repo, frameworks);
                 } catch (Exception e) {
                     logger.error("Error processing repo " + repo.getName() + ": " + e.getMessage(), e);
                     repoToFrameworks.put(repo, Collections.emptyList());
+                } finally {
+                    analysisMetrics.stopRepoAnalysis(sample, AnalysisMetrics.STAGE_FRAMEWORKS);
                 }
                 return null;
             };
@@ -209,10 +232,11 @@ public class GithubApiService {
 
             logger.debug("Processing repository: {}, frameworks: {}, commits: {}",
                     repo.getName(), frameworks, repo.getCommitShas().size());
+            Timer.Sample repoSample = analysisMetrics.startTimer();
 
             int commitThreadPoolSize = Math.min(repo.getCommitShas().size(), 100);
             logger.debug("Creating commit executor with {} threads for repository {}", commitThreadPoolSize, repo.getName());
-            ExecutorService commitExecutor = Executors.newFixedThreadPool(commitThreadPoolSize);
+            ExecutorService commitExecutor = newTracedPool(commitThreadPoolSize);
             List<Future<Void>> commitFutures = new ArrayList<>();
 
             HttpHeaders headers = new HttpHeaders();
@@ -221,10 +245,10 @@ public class GithubApiService {
 
             for (String commitSha : repo.getCommitShas()) {
                 Callable<Void> task = () -> {
-                    String commitUrl = "https://api.github.com/repos/" + owner + "/" + repo.getName() + "/commits/" + commitSha;
                     logger.debug("Fetching commit {} for repository {}", commitSha, repo.getName());
                     try {
-                        ResponseEntity<JsonNode> response = restTemplate.exchange(commitUrl, HttpMethod.GET, entity, JsonNode.class);
+                        ResponseEntity<JsonNode> response = analysisMetrics.githubCall(AnalysisMetrics.CALL_COMMIT,
+                                () -> restTemplate.exchange(COMMIT_URL, HttpMethod.GET, entity, JsonNode.class, owner, repo.getName(), commitSha));
                         JsonNode commitData = response.getBody();
                         if (commitData == null) {
                             logger.warn("No commit data returned for commit {} in repository {}", commitSha, repo.getName());
@@ -288,16 +312,19 @@ public class GithubApiService {
                 commitExecutor.shutdownNow();
                 Thread.currentThread().interrupt();
             }
+            analysisMetrics.stopRepoAnalysis(repoSample, AnalysisMetrics.STAGE_FILES);
 
-            int totalFilesProcessed = globalFrameworkToFiles.values().stream().mapToInt(Set::size).sum();
-            logger.info("Processed {} files for repository {}", totalFilesProcessed, repo.getName());
+            if (logger.isDebugEnabled()) {
+                int totalFilesProcessed = globalFrameworkToFiles.values().stream().mapToInt(Set::size).sum();
+                logger.debug("Processed {} files for repository {}", totalFilesProcessed, repo.getName());
+            }
         }
 
         Map<String, Integer> frameworkToFileCounts = new HashMap<>();
         for (Map.Entry<String, Set<String>> entry : globalFrameworkToFiles.entrySet()) {
             frameworkToFileCounts.put(entry.getKey(), entry.getValue().size());
-            logger.info("Framework {}: {} files", entry.getKey(), entry.getValue().size());
-            logger.info("Framework {}: {} files", entry.getKey(), entry.getValue().toString());
+            logger.debug("Framework {}: {} files", entry.getKey(), entry.getValue().size());
+            logger.trace("Framework {} files: {}", entry.getKey(), entry.getValue());
         }
 
         if (frameworkToFileCounts.isEmpty()) {
@@ -309,11 +336,11 @@ public class GithubApiService {
     }
 
     public List<String> getFrameworkFromRepository(RepositoryInfo repo, String owner, String accessToken) {
-        String url = "https://api.github.com/repos/" + owner + "/" + repo.getName() + "/git/trees/" + repo.getDefaultBranch() + "?recursive=1";
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
         HttpEntity<String> entity = new HttpEntity<>(headers);
-        ResponseEntity<JsonNode> response = restTemplate.exchange(url, HttpMethod.GET, entity, JsonNode.class);
+        ResponseEntity<JsonNode> response = analysisMetrics.githubCall(AnalysisMetrics.CALL_TREE,
+                () -> restTemplate.exchange(TREE_URL, HttpMethod.GET, entity, JsonNode.class, owner, repo.getName(), repo.getDefaultBranch()));
         JsonNode tree = response.getBody().get("tree");
 
         List<String> configFilesToLookFor = new ArrayList<>();
@@ -349,8 +376,9 @@ public class GithubApiService {
                 continue;
             }
 
-             String contentUrl = "https://api.github.com/repos/" + owner + "/" + repo.getName() + "/contents/" + configPath + "?ref=" + repo.getDefaultBranch();
-            ResponseEntity<JsonNode> contentResponse = restTemplate.exchange(contentUrl, HttpMethod.GET, entity, JsonNode.class);
+            ResponseEntity<JsonNode> contentResponse = analysisMetrics.githubCall(AnalysisMetrics.CALL_CONTENTS,
+                    () -> restTemplate.exchange(CONTENTS_URL, HttpMethod.GET, entity, JsonNode.class,
+                            owner, repo.getName(), configPath, repo.getDefaultBranch()));
             JsonNode contentNode = contentResponse.getBody();
 
             if (!contentNode.has("content")) {
@@ -370,12 +398,12 @@ public class GithubApiService {
             for (Mappings.DependencyFramework df : dependencyFrameworks) {
                 if (df.getChecker().test(content, df.getDependency())) {
                     detectedFrameworks.add(df.getFramework());
-                    logger.info("Detected framework: {} for config file: {}", df.getFramework(), configPath);
+                    logger.debug("Detected framework: {} for config file: {}", df.getFramework(), configPath);
                 }
             }
         }
 
-        logger.info("Detected frameworks for repository {}: {}", repo.getName(), detectedFrameworks);
+        logger.debug("Detected frameworks for repository {}: {}", repo.getName(), detectedFrameworks);
         return new ArrayList<>(detectedFrameworks);
     }
 }
\ No newline at end of file
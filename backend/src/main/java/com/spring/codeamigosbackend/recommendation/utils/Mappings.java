@@ -5,7 +5,9 @@ import lombok.*;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.function.BiPredicate;
 
 public class Mappings {
@@ -188,4 +190,20 @@ public class Mappings {
         FRAMEWORK_TO_FILE_EXTENSIONS.put("Gatsby", Arrays.asList(".js", ".tsx"));
         FRAMEWORK_TO_FILE_EXTENSIONS.put("EmberJs", Arrays.asList(".ts", ".js"));
     }
+
+    // Every framework the analysis can detect, normalized and sorted; the dimensions of the recommendation vectors
+    public static final List<String> FRAMEWORK_VOCABULARY;
+    static {
+        TreeSet<String> frameworks = new TreeSet<>();
+        CONFIG_TO_DEPENDENCY_FRAMEWORK.values().forEach(list -> list.forEach(df -> frameworks.add(normalizeFramework(df.getFramework()))));
+        FRAMEWORK_TO_FILE_EXTENSIONS.keySet().forEach(framework -> frameworks.add(normalizeFramework(framework)));
+        FRAMEWORK_VOCABULARY = List.copyOf(frameworks);
+    }
+
+    /**
+     * Canonical form of a framework / tech stack name, e.g. "Spring Boot " becomes "springboot".
+     */
+    public static String normalizeFramework(String name) {
+        return name.toLowerCase(Locale.ROOT).trim().replace(" ", "");
+    }
 }
\ No newline at end of file
@@ -5,8 +5,13 @@ import com.spring.codeamigosbackend.rabbitmq.producer.RabbitMqProducer;
 import com.spring.codeamigosbackend.OAuth2.util.JwtUtil;
 import com.spring.codeamigosbackend.recommendation.controllers.FrameworkController;
 import com.spring.codeamigosbackend.recommendation.dtos.GithubScoreRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.codeamigosbackend.registration.dto.PublicUserProfile;
+import com.spring.codeamigosbackend.registration.dto.UserPage;
+import com.spring.codeamigosbackend.registration.dto.UserPatch;
 import com.spring.codeamigosbackend.registration.model.User;
 import com.spring.codeamigosbackend.registration.repository.UserRepository;
+import com.spring.codeamigosbackend.registration.service.UserSearchService;
 import com.spring.codeamigosbackend.registration.service.UserService;
 import com.spring.codeamigosbackend.registration.exception.InvalidCredentialsException;
 import com.spring.codeamigosbackend.subscription.model.PaymentOrder;
@@ -21,16 +26,20 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.apache.commons.codec.binary.Hex;
 import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 // For ResponseEntity return type
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.*;
 import org.springframework.security.core.context.SecurityContextHolder;
 // For @PostMapping annotation
 // For @RequestBody annotation
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -39,6 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import jakarta.servlet.http.HttpServletResponse;  // For HttpServletResponse parameter
 import jakarta.servlet.http.Cookie;                   // For creating and manipulating cookies
 
@@ -52,6 +62,7 @@ import jakarta.servlet.http.Cookie;                   // For creating and manipu
 public class UserController {
 private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();     private static final String SECRET_KEY = dotenv.get("JWT_SECRET_KEY"); // Store in env variable
     private final UserService userService;
+    private final UserSearchService userSearchService;
     private final FrameworkController frameworkController;
     private final PaymentOrderRepository paymentOrderRepository;
     private final JwtUtil jwtUtil;
@@ -61,6 +72,10 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
 
     private final UserRepository userRepository;
 
+    private final ObjectMapper objectMapper;
+
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
     @Value("${razorpay.webhook.secret}")
     private String webhookSecret;
 
@@ -73,12 +88,9 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
     @GetMapping("/me")
     public ResponseEntity<?> getUsersDetailsFromCookie(HttpServletRequest request) {
         Cookie[] cookies = request.getCookies();
-        System.out.println(cookies);
         String token = null;
         if (cookies != null) {
             for (Cookie cookie : cookies) {
-                System.out.println("Name : " + cookie.getName());
-                System.out.println("Value : " + cookie.getValue());
                 if (cookie.getName().equals("jwtToken")) {
                     token = cookie.getValue();
                     break;
@@ -91,7 +103,6 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
         try{
             Claims claims = jwtUtil.validateToken(token);
 
-            System.out.println(claims.get("username",String.class));
             String id = claims.get("id",String.class);
             String email = claims.get("email", String.class);
             String username = claims.get("username", String.class);
@@ -114,7 +125,6 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody User user, HttpServletResponse response) {
         try {
-            System.out.println("In registerUser method");
             // Your existing user save/update logic
             Optional<User> existingUser = userRepository.findById(user.getId());
             User savedUser;
@@ -145,14 +155,11 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
                     savedUser.getEmail(),
                     savedUser.getStatus()
             );
-            // Log JWT token to console
-            System.out.println("Generated JWT Token: " + token);
             // Set JWT token as HttpOnly, Secure cookie with SameSite=Strict
              String cookieValue = "jwtToken=" + token
                     + "; HttpOnly; Secure; SameSite=None; Path=/; Max-Age=86400";
             response.setHeader("Set-Cookie", cookieValue); // ✅ Set manually
 
-            System.out.println("Hello"+response.getHeader("Set-Cookie"));
             // Return user info (without token in body)
             GithubScoreRequest githubScoreRequest = new GithubScoreRequest();
             githubScoreRequest.setUsername(user.getUsername());
@@ -160,12 +167,11 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
             // Decrypt token when needed
             String decryptedToken = EncryptionUtil.decrypt(u.getGithubAccessToken(), SECRET_KEY);
             githubScoreRequest.setAccessToken(decryptedToken);
-            System.out.println("decrepted github access token"+decryptedToken);
             rabbitMqProducer.sendUserToQueue(githubScoreRequest);
             return ResponseEntity.ok(savedUser);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Registration failed for user {}", user.getUsername(), e);
             return ResponseEntity.status(500).body("Server Error: " + e.getMessage());
         }
     }
@@ -202,6 +208,21 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
     }
 
     // Get user details
+    @GetMapping("/search")
+    public ResponseEntity<?> searchUsers(@RequestParam String q, @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(userSearchService.search(q, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/search/autocomplete")
+    public ResponseEntity<List<PublicUserProfile>> autocompleteUsers(@RequestParam String prefix,
+                                                                     @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(userSearchService.autocomplete(prefix, size));
+    }
+
     @GetMapping("/{username}")
     public ResponseEntity<?> getUserDetails(@PathVariable java.lang.String username) {
         try {
@@ -214,9 +235,32 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
     }
 
     @GetMapping("/all")
-    public ResponseEntity<?> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "50") int size) {
+        try {
+            UserPage page = userService.getUserPage(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Whole directory as newline-delimited JSON, written as the Mongo cursor is read
+    @GetMapping(value = "/all", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        StreamingResponseBody body = out -> {
+            try (Stream<PublicUserProfile> profiles = userService.streamPublicProfiles()) {
+                profiles.forEach(profile -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(profile));
+                        out.write('\n');
+                    } catch (java.io.IOException e) {
+                        throw new java.io.UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
     }
 
     @PutMapping("/{username}")
@@ -228,12 +272,34 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
         return ResponseEntity.ok(user1);
     }
 
+    // Partial update; send the user's version as If-Match to have the patch rejected if someone else edited in between
+    @PatchMapping("/{username}")
+    public ResponseEntity<?> patchUserByUsername(@RequestBody UserPatch patch,
+                                                 @PathVariable java.lang.String username,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) java.lang.String ifMatch) {
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.isBlank()) {
+            try {
+                expectedVersion = Long.parseLong(ifMatch.replace("W/", "").replace("\"", "").trim());
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().body("If-Match must be the user's version");
+            }
+        }
+        try {
+            User updated = userService.patchUser(username, patch, expectedVersion);
+            if (updated == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+            }
+            return ResponseEntity.ok().eTag(java.lang.String.valueOf(updated.getVersion())).body(updated);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        }
+    }
+
     @PostMapping("/create_order")
     @ResponseBody
     public String createOrder(@RequestBody Map<String, String> data) throws RazorpayException {
 
-        System.out.println( "Order created successfully");
-
         int amt = Integer.parseInt(data.get("amount").toString());
         var client = new RazorpayClient(key_id,key_secret);
         //RazorpayClient("Key_id","key_secret");
@@ -246,7 +312,7 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
 
         // Creating order
         Order order = client.orders.create(ob);
-        System.out.println(order);
+        logger.debug("Created razorpay order {}", (Object) order.get("id"));
 
         // save this order into database...
         PaymentOrder paymentOrder = new PaymentOrder();
@@ -286,8 +352,6 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
                     updatedUser.getEmail(),
                     updatedUser.getStatus() // now "paid"
             );
-            // Log JWT token to console
-            System.out.println("updated JWT Token: " + newToken);
             // Set the new JWT token as a cookie
             String cookieValue = "jwtToken=" + newToken
                     + "; HttpOnly; Secure; SameSite=Strict; Path=/; Max-Age=86400";
@@ -296,7 +360,7 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
         paymentOrder.setUserId(data.get("userId").toString());
         paymentOrderRepository.save(paymentOrder);
 
-        System.out.println(data);
+        logger.debug("Updated payment order {}", paymentOrder.getOrderId());
         return ResponseEntity.ok(Map.of("msg","updated status successfully"));
     }
 
@@ -322,7 +386,7 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
             // Return 200 OK immediately
             return ResponseEntity.ok("Webhook received");
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Webhook handling failed", e);
             return ResponseEntity.status(500).body("Webhook error: " + e.getMessage());
         }
     }
@@ -355,7 +419,7 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
                 });
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Could not process webhook payload", e);
         }
     }
 
@@ -364,7 +428,7 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
             String computedSignature = hmacSHA256(payload, secret);
             return computedSignature.equals(actualSignature);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.warn("Could not verify webhook signature: {}", e.getMessage());
             return false;
         }
     }
@@ -400,7 +464,6 @@ private static Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
         Optional<User> userOpt = userRepository.findByGithubUsername(githubUserName);
         if (userOpt.isPresent()) {
             String encryptedPublicKey = EncryptionUtil.encrypt(publicPem,SECRET_KEY);
-            System.out.println("EncryptedPublicKey"+encryptedPublicKey);
             User user = userOpt.get();
             user.setRsaPublicKey(encryptedPublicKey);
             this.userRepository.save(user);
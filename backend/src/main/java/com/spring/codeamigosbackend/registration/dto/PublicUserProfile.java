@@ -0,0 +1,26 @@
+package com.spring.codeamigosbackend.registration.dto;
+
+import lombok.Data;
+
+/**
+ * The part of a user that other users may see. No email, tokens, keys or payment status.
+ */
+@Data
+public class PublicUserProfile {
+    private String id;
+    private String username;
+    private String displayName;
+    private String bio;
+    private String githubUsername;
+    private String githubAvatarUrl;
+    private String leetcodeUsername;
+    private String codechefUsername;
+    private String linkedinurl;
+    private String twitterusername;
+    private String instagramusername;
+    private String portfolioUrl;
+    private String resumeUrl;
+    private String gifUrl;
+    private String coverPhotoUrl;
+    private String emoji;
+}
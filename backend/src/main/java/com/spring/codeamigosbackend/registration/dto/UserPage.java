@@ -0,0 +1,18 @@
+package com.spring.codeamigosbackend.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of users. Pass {@code nextCursor} back as {@code cursor} for the next page; null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPage {
+    private List<PublicUserProfile> items;
+    private String nextCursor;
+}
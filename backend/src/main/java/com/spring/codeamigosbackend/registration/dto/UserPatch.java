@@ -0,0 +1,79 @@
+package com.spring.codeamigosbackend.registration.dto;
+
+import com.spring.codeamigosbackend.registration.model.User;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Profile fields a user may change. Fields left null are not touched.
+ */
+@Data
+public class UserPatch {
+    private String username;
+    private String displayName;
+    private String email;
+    private String bio;
+    private String githubUsername;
+    private String leetcodeUsername;
+    private String codechefUsername;
+    private String linkedinurl;
+    private String twitterusername;
+    private String instagramusername;
+    private String portfolioUrl;
+    private String resumeUrl;
+    private String gifUrl;
+    private String coverPhotoUrl;
+    private String emoji;
+
+    // The PUT endpoint still receives a whole User; only its patchable fields are taken over
+    public static UserPatch from(User user) {
+        UserPatch patch = new UserPatch();
+        patch.setUsername(user.getUsername());
+        patch.setDisplayName(user.getDisplayName());
+        patch.setEmail(user.getEmail());
+        patch.setBio(user.getBio());
+        patch.setGithubUsername(user.getGithubUsername());
+        patch.setLeetcodeUsername(user.getLeetcodeUsername());
+        patch.setCodechefUsername(user.getCodechefUsername());
+        patch.setLinkedinurl(user.getLinkedinurl());
+        patch.setTwitterusername(user.getTwitterusername());
+        patch.setInstagramusername(user.getInstagramusername());
+        patch.setPortfolioUrl(user.getPortfolioUrl());
+        patch.setResumeUrl(user.getResumeUrl());
+        patch.setGifUrl(user.getGifUrl());
+        patch.setCoverPhotoUrl(user.getCoverPhotoUrl());
+        patch.setEmoji(user.getEmoji());
+        return patch;
+    }
+
+    /**
+     * @return User property name to new value, for the non-null fields only
+     */
+    public Map<String, String> changes() {
+        Map<String, String> changes = new LinkedHashMap<>();
+        put(changes, "username", username);
+        put(changes, "displayName", displayName);
+        put(changes, "email", email);
+        put(changes, "bio", bio);
+        put(changes, "githubUsername", githubUsername);
+        put(changes, "leetcodeUsername", leetcodeUsername);
+        put(changes, "codechefUsername", codechefUsername);
+        put(changes, "linkedinurl", linkedinurl);
+        put(changes, "twitterusername", twitterusername);
+        put(changes, "instagramusername", instagramusername);
+        put(changes, "portfolioUrl", portfolioUrl);
+        put(changes, "resumeUrl", resumeUrl);
+        put(changes, "gifUrl", gifUrl);
+        put(changes, "coverPhotoUrl", coverPhotoUrl);
+        put(changes, "emoji", emoji);
+        return changes;
+    }
+
+    private static void put(Map<String, String> changes, String field, String value) {
+        if (value != null) {
+            changes.put(field, value);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.spring.codeamigosbackend.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What other features need to show a user next to their content: names and avatar only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private String id;
+    private String username;
+    private String githubUsername;
+    private String githubAvatarUrl;
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Pattern;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
 import jakarta.validation.constraints.NotBlank;
@@ -17,9 +18,13 @@ public class User {
     private String id;
 
     @NotBlank(message = "Username is required")
+    // Sparse: first-time GitHub logins are saved before the user picks a username
+    @Indexed(unique = true, sparse = true)
+    @TextIndexed(weight = 10)
     private String username;
 
     @NotBlank(message = "Display name is required")
+    @TextIndexed(weight = 5)
     private String displayName;
 
     @Transient
@@ -34,11 +39,15 @@ public class User {
 
 
 
+    // Sparse: users who registered without GitHub have no githubUsername
+    @Indexed(unique = true, sparse = true)
+    @TextIndexed(weight = 5)
     private String githubUsername;
     private String leetcodeUsername;
     private String codechefUsername;
 
     //new
+    @TextIndexed
     private String bio;
     private String linkedinurl;
     private String twitterusername;
@@ -62,6 +71,10 @@ public class User {
     @JsonProperty("publicKey")  // matches frontend JSON property name
     private String rsaPublicKey; // store PEM string here
 
+    // Bumped by every profile patch; clients send it back in If-Match to reject an edit of a stale profile.
+    // Not a Spring Data @Version, users saved before it existed have no value and save() would treat them as new.
+    private Long version;
+
      // evaluate false
         public void evaluateProfileCompletion() {
             boolean complete =
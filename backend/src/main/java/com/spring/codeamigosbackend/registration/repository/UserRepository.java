@@ -1,19 +1,47 @@
 package com.spring.codeamigosbackend.registration.repository;
 
+import com.spring.codeamigosbackend.registration.dto.PublicUserProfile;
+import com.spring.codeamigosbackend.registration.dto.UserSummary;
 import com.spring.codeamigosbackend.registration.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends MongoRepository<User, java.lang.String> {
+    String PUBLIC_PROFILE_FIELDS = "{ 'username': 1, 'displayName': 1, 'bio': 1, 'githubUsername': 1, 'githubAvatarUrl': 1, "
+            + "'leetcodeUsername': 1, 'codechefUsername': 1, 'linkedinurl': 1, 'twitterusername': 1, 'instagramusername': 1, "
+            + "'portfolioUrl': 1, 'resumeUrl': 1, 'gifUrl': 1, 'coverPhotoUrl': 1, 'emoji': 1 }";
+
     Optional<User> findByUsername(java.lang.String username);
     boolean existsByUsername(java.lang.String username);
     Optional<User> findById(java.lang.String id);
 
-    List<User> findAllById(List<User> userid);
     Optional<User> findByGithubId(int githubId);
     Optional<User> findByGithubUsername(String githubUsername);
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    // Only the UserSummary fields are read
+    List<UserSummary> findSummariesByIdIn(Collection<String> ids);
+    List<UserSummary> findSummariesByUsernameIn(Collection<String> usernames);
+    Optional<UserSummary> findSummaryByUsername(String username);
+    Optional<UserSummary> findSummaryByGithubUsername(String githubUsername);
+
+    @Query(value = "{}", fields = "{ '_id': 1 }")
+    List<User> findAllIds();
+
+    // Keyset page of public profiles ordered by _id; pass page 0 of the wanted size as the Pageable
+    @Query(value = "{ '_id': { $gt: ?0 } }", fields = PUBLIC_PROFILE_FIELDS, sort = "{ '_id': 1 }")
+    List<PublicUserProfile> findPublicProfilesAfter(ObjectId afterId, Pageable pageable);
+
+    // Backed by a Mongo cursor, close the stream when done
+    @Query(value = "{}", fields = PUBLIC_PROFILE_FIELDS, sort = "{ '_id': 1 }")
+    Stream<PublicUserProfile> streamPublicProfiles();
 }
\ No newline at end of file
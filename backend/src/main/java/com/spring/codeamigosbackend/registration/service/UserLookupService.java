@@ -0,0 +1,186 @@
+package com.spring.codeamigosbackend.registration.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.codeamigosbackend.registration.dto.UserSummary;
+import com.spring.codeamigosbackend.registration.model.User;
+import com.spring.codeamigosbackend.registration.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Cheap user lookups for code that only shows names and avatars. Reads project the
+ * {@link UserSummary} fields, batches go out as one {@code $in} query, and results are kept
+ * in a small node-local cache for a minute so chat lists and recommendations do not hit Mongo
+ * once per row. Use {@link UserRepository} directly when the full document is needed.
+ * <p>
+ * Username and GitHub username to id resolutions are cached longer, since they only change
+ * through {@link UserService#updateUser}, which evicts them on every node by publishing the old
+ * names on {@code users:evicted}. Pub/sub delivery is best effort, so the TTL still bounds how long
+ * a node that missed the message resolves an old name. Misses are not cached, so a freshly
+ * registered user resolves right away.
+ */
+@Service
+public class UserLookupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserLookupService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Duration SUMMARY_TTL = Duration.ofSeconds(60);
+    private static final long MAX_CACHED_SUMMARIES = 50_000;
+    private static final Duration IDENTITY_TTL = Duration.ofMinutes(10);
+    private static final String EVICTIONS_CHANNEL = "users:evicted";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Cache<String, UserSummary> summariesById = Caffeine.newBuilder()
+            .expireAfterWrite(SUMMARY_TTL)
+            .maximumSize(MAX_CACHED_SUMMARIES)
+            .build();
+    private final Cache<String, String> idByUsername = Caffeine.newBuilder()
+            .expireAfterWrite(IDENTITY_TTL)
+            .maximumSize(MAX_CACHED_SUMMARIES)
+            .build();
+    private final Cache<String, String> idByGithubUsername = Caffeine.newBuilder()
+            .expireAfterWrite(IDENTITY_TTL)
+            .maximumSize(MAX_CACHED_SUMMARIES)
+            .build();
+
+    public UserLookupService(UserRepository userRepository, StringRedisTemplate stringRedisTemplate,
+                             RedisMessageListenerContainer listenerContainer) {
+        this.userRepository = userRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        listenerContainer.addMessageListener((message, pattern) -> onEvicted(message.getBody()), new ChannelTopic(EVICTIONS_CHANNEL));
+    }
+
+    public Optional<UserSummary> getSummary(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getSummaries(List.of(userId)).get(userId));
+    }
+
+    /**
+     * @return Summary per id; unknown ids are left out
+     */
+    public Map<String, UserSummary> getSummaries(Collection<String> userIds) {
+        List<String> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return summariesById.getAll(ids, missing -> userRepository.findSummariesByIdIn(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(UserSummary::getId, summary -> summary, (a, b) -> a)));
+    }
+
+    /**
+     * @return Id of the user with this username
+     */
+    public Optional<String> resolveIdByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        String cached = idByUsername.getIfPresent(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findSummaryByUsername(username).map(this::remember).map(UserSummary::getId);
+    }
+
+    /**
+     * @return Id of the user with this GitHub username
+     */
+    public Optional<String> resolveIdByGithubUsername(String githubUsername) {
+        if (githubUsername == null) {
+            return Optional.empty();
+        }
+        String cached = idByGithubUsername.getIfPresent(githubUsername);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findSummaryByGithubUsername(githubUsername).map(this::remember).map(UserSummary::getId);
+    }
+
+    /**
+     * @return Summary per username; unknown usernames are left out
+     */
+    public Map<String, UserSummary> getSummariesByUsername(Collection<String> usernames) {
+        List<String> names = usernames.stream().filter(Objects::nonNull).distinct().toList();
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, UserSummary> byUsername = new HashMap<>();
+        for (UserSummary summary : userRepository.findSummariesByUsernameIn(names)) {
+            byUsername.put(summary.getUsername(), remember(summary));
+        }
+        return byUsername;
+    }
+
+    /**
+     * Ids of every user, read through an id-only projection.
+     */
+    public List<String> getAllUserIds() {
+        return userRepository.findAllIds().stream().map(User::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Drops everything cached for the user after their names or avatar changed, on this node right
+     * away and on the others once they receive the invalidation.
+     * Pass the user as it was before the change so the old usernames stop resolving.
+     */
+    public void evict(UserSummary user) {
+        invalidate(user);
+        try {
+            stringRedisTemplate.convertAndSend(EVICTIONS_CHANNEL, MAPPER.writeValueAsString(user));
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Could not publish the cache eviction of user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    private void onEvicted(byte[] body) {
+        try {
+            invalidate(MAPPER.readValue(body, UserSummary.class));
+        } catch (IOException e) {
+            logger.warn("Ignoring malformed user cache eviction: {}", e.getMessage());
+        }
+    }
+
+    private void invalidate(UserSummary user) {
+        if (user.getId() != null) {
+            summariesById.invalidate(user.getId());
+        }
+        if (user.getUsername() != null) {
+            idByUsername.invalidate(user.getUsername());
+        }
+        if (user.getGithubUsername() != null) {
+            idByGithubUsername.invalidate(user.getGithubUsername());
+        }
+    }
+
+    private UserSummary remember(UserSummary summary) {
+        summariesById.put(summary.getId(), summary);
+        if (summary.getUsername() != null) {
+            idByUsername.put(summary.getUsername(), summary.getId());
+        }
+        if (summary.getGithubUsername() != null) {
+            idByGithubUsername.put(summary.getGithubUsername(), summary.getId());
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,70 @@
+package com.spring.codeamigosbackend.registration.service;
+
+import com.spring.codeamigosbackend.registration.dto.PublicUserProfile;
+import com.spring.codeamigosbackend.registration.model.User;
+import com.spring.codeamigosbackend.registration.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Search over public user profiles: full-text on username, display name, GitHub username and bio
+ * through the users text index, and prefix autocomplete on username / GitHub username.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSearchService {
+
+    private static final int MAX_RESULTS = 50;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * @return Matching profiles, best text score first
+     */
+    public List<PublicUserProfile> search(String text, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text.trim()));
+        query.sortByScore();
+        includePublicFields(query);
+        query.limit(clampLimit(limit));
+        return mongoTemplate.find(query, PublicUserProfile.class, mongoTemplate.getCollectionName(User.class));
+    }
+
+    /**
+     * Profiles whose username or GitHub username starts with the prefix. The regex is anchored and
+     * case-sensitive so Mongo can answer it with a range scan on an index over those fields.
+     */
+    public List<PublicUserProfile> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        // Escape rather than \Q..\E quoting, which Mongo does not recognise as a plain prefix
+        String anchored = "^" + prefix.trim().replaceAll("\\W", "\\\\$0");
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("username").regex(anchored),
+                Criteria.where("githubUsername").regex(anchored)));
+        includePublicFields(query);
+        query.with(Sort.by("username"));
+        query.limit(clampLimit(limit));
+        return mongoTemplate.find(query, PublicUserProfile.class, mongoTemplate.getCollectionName(User.class));
+    }
+
+    private static void includePublicFields(Query query) {
+        Document.parse(UserRepository.PUBLIC_PROFILE_FIELDS).keySet().forEach(query.fields()::include);
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_RESULTS));
+    }
+}
@@ -1,19 +1,35 @@
 package com.spring.codeamigosbackend.registration.service;
 
 
+import com.spring.codeamigosbackend.registration.dto.PublicUserProfile;
+import com.spring.codeamigosbackend.registration.dto.UserPage;
+import com.spring.codeamigosbackend.registration.dto.UserPatch;
+import com.spring.codeamigosbackend.registration.dto.UserSummary;
 import com.spring.codeamigosbackend.registration.model.User;
 import com.spring.codeamigosbackend.registration.repository.UserRepository;
 import com.spring.codeamigosbackend.registration.exception.UserAlreadyExistsException;
 import com.spring.codeamigosbackend.registration.exception.InvalidCredentialsException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -21,6 +37,12 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
+    private final MongoTemplate mongoTemplate;
+
+    private static final int MAX_USER_PAGE_SIZE = 200;
+    // Sorts before every generated ObjectId, used for the first page
+    private static final ObjectId FIRST_USER_CURSOR = new ObjectId("000000000000000000000000");
 
 
     // Register new user
@@ -29,8 +51,12 @@ public class UserService {
             throw new UserAlreadyExistsException("Username already exists: " + user.getUsername());
         }
 
-        User user1 = userRepository.save(user);
-        return user1;
+        try {
+            return userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            // Lost the race against another registration with the same username
+            throw new UserAlreadyExistsException("Username already exists: " + user.getUsername());
+        }
     }
 
     // Authenticate user (login)
@@ -58,73 +84,83 @@ public class UserService {
     }
 
     public User updateUser(User user, java.lang.String username) {
-        Optional<User> userOptional = userRepository.findByUsername(username);
-        if (userOptional.isPresent()) {
-            User userToUpdate = userOptional.get();
-
-            if(user.getUsername()!=null) {
-                if (userRepository.existsByUsername(user.getUsername())) {
-                    throw new UserAlreadyExistsException("Username already exists: " + user.getUsername());
-                }
-                userToUpdate.setUsername(user.getUsername());
-            }
+        return patchUser(username, UserPatch.from(user), null);
+    }
 
-            if (user.getDisplayName() != null) {
-                userToUpdate.setDisplayName(user.getDisplayName());
-            }
-            if (user.getEmail() != null) {
-                userToUpdate.setEmail(user.getEmail());
-            }
-            if (user.getPassword() != null) {
-                userToUpdate.setPassword(user.getPassword());
-            }
-            if (user.getBio() != null) {
-                userToUpdate.setBio(user.getBio());
-            }
-            if (user.getGithubUsername() != null) {
-                userToUpdate.setGithubUsername(user.getGithubUsername());
-            }
-            if (user.getLeetcodeUsername() != null) {
-                userToUpdate.setLeetcodeUsername(user.getLeetcodeUsername());
-            }
-            if (user.getLinkedinurl() != null) {
-                userToUpdate.setLinkedinurl(user.getLinkedinurl());
+    /**
+     * Applies the non-null fields of the patch with one findAndModify ($set plus a version bump),
+     * so concurrent edits of different fields never overwrite each other. A username or GitHub
+     * username that is already taken is caught by the unique indexes.
+     *
+     * @param expectedVersion Version the client last read, null to skip the check
+     * @return The updated user, or null if there is no user with this username
+     * @throws OptimisticLockingFailureException If the user changed since {@code expectedVersion}
+     */
+    public User patchUser(java.lang.String username, UserPatch patch, Long expectedVersion) {
+        Map<java.lang.String, java.lang.String> changes = patch.changes();
+        Criteria criteria = Criteria.where("username").is(username);
+        if (expectedVersion != null) {
+            if (expectedVersion == 0) {
+                // Users saved before versioning have no version field yet
+                criteria.orOperator(Criteria.where("version").is(0L), Criteria.where("version").exists(false));
+            } else {
+                criteria.and("version").is(expectedVersion);
             }
-            if (user.getCodechefUsername() != null) {
-                userToUpdate.setCodechefUsername(user.getCodechefUsername());
-            }
-            if (user.getInstagramusername() != null) {
-                userToUpdate.setInstagramusername(user.getInstagramusername());
-            }
-            if (user.getTwitterusername() != null) {
-                userToUpdate.setTwitterusername(user.getTwitterusername());
-            }
-            if(user.getResumeUrl()!=null) {
-                userToUpdate.setResumeUrl(user.getResumeUrl());
-            }
-            if(user.getPortfolioUrl()!=null) {
-                userToUpdate.setPortfolioUrl(user.getPortfolioUrl());
-            }
-            if(user.getGifUrl()!=null) {
-                userToUpdate.setGifUrl(user.getGifUrl());
-            }
-            if (user.getCoverPhotoUrl() != null) {
-                userToUpdate.setCoverPhotoUrl(user.getCoverPhotoUrl());
-            }
-            if(user.getEmoji()!=null) {
-                userToUpdate.setEmoji(user.getEmoji());
+        }
+        Update update = new Update();
+        changes.forEach(update::set);
+        update.inc("version", 1);
+
+        User previous;
+        try {
+            previous = mongoTemplate.findAndModify(new Query(criteria), update,
+                    FindAndModifyOptions.options().returnNew(false), User.class);
+        } catch (DuplicateKeyException e) {
+            throw new UserAlreadyExistsException("Username or GitHub username already taken");
+        }
+        if (previous == null) {
+            if (expectedVersion != null && userRepository.existsByUsername(username)) {
+                throw new OptimisticLockingFailureException("User " + username + " was modified after version " + expectedVersion);
             }
-            return userRepository.save(userToUpdate);
+            return null;
+        }
+        userLookupService.evict(new UserSummary(previous.getId(), previous.getUsername(),
+                previous.getGithubUsername(), previous.getGithubAvatarUrl()));
+
+        // Apply the same changes to the old document instead of reading the user again
+        BeanWrapper updated = new BeanWrapperImpl(previous);
+        changes.forEach(updated::setPropertyValue);
+        previous.setVersion(previous.getVersion() == null ? 1L : previous.getVersion() + 1);
+        return previous;
+    }
+
+    /**
+     * Keyset page of public profiles; the cursor is the id of the previous page's last user.
+     */
+    public UserPage getUserPage(String cursor, int size) {
+        ObjectId after;
+        if (cursor == null || cursor.isBlank()) {
+            after = FIRST_USER_CURSOR;
+        } else if (ObjectId.isValid(cursor)) {
+            after = new ObjectId(cursor);
+        } else {
+            throw new IllegalArgumentException("Invalid cursor");
         }
-        return null;
+        int pageSize = Math.max(1, Math.min(size, MAX_USER_PAGE_SIZE));
+        List<PublicUserProfile> items = userRepository.findPublicProfilesAfter(after, PageRequest.of(0, pageSize));
+        String nextCursor = items.size() < pageSize ? null : items.get(items.size() - 1).getId();
+        return new UserPage(items, nextCursor);
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    /**
+     * All public profiles through one Mongo cursor. The caller must close the stream.
+     */
+    public Stream<PublicUserProfile> streamPublicProfiles() {
+        return userRepository.streamPublicProfiles();
     }
 
     public List<java.lang.String> getAllUsersId(){
-        return userRepository.findAll().stream().map(User::getId).collect(Collectors.toList());
+        return userLookupService.getAllUserIds();
     }
 
     public List<User> getAllUsersById(List<String> userid) {
@@ -0,0 +1,144 @@
+package com.spring.codeamigosbackend.OAuth2.filter;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.spring.codeamigosbackend.OAuth2.util.JwtUtil;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per millisecond through JwtAuthenticationFilter with a valid token, comparing the
+ * per-request logging the filter used to do (ten INFO lines, token included) with the current
+ * sampled line, each behind a synchronous appender and behind the bounded AsyncAppender of
+ * logback-spring.xml. Events are written to /dev/null with the console pattern, so the write
+ * syscalls stay but the disk does not fill up.
+ * <p>
+ * Not part of the test run; needs JWT_SECRET_KEY (32+ bytes) in the environment and is started
+ * with the main method or {@code java -cp target/test-classes:<test classpath> ...JwtAuthenticationFilterLoggingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class JwtAuthenticationFilterLoggingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+    private String token;
+    private LoggerContext loggerContext;
+
+    @Setup
+    public void setUp() {
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> sink = new FileAppender<>();
+        sink.setContext(loggerContext);
+        sink.setName("SINK");
+        sink.setFile("/dev/null");
+        sink.setEncoder(encoder);
+        sink.start();
+
+        Appender<ILoggingEvent> root = sink;
+        if ("async".equals(appender)) {
+            // Same settings as ASYNC_CONSOLE in logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setName("ASYNC_SINK");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1024);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(sink);
+            async.start();
+            root = async;
+        }
+        ch.qos.logback.classic.Logger rootLogger = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+
+        token = JwtUtil.generateToken("665f1c2ab3e4d5f6a7b8c9d0", "alice", "alice@example.com", "paid");
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public MockHttpServletRequest currentLogging() throws ServletException, IOException {
+        MockHttpServletRequest request = request();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return request;
+    }
+
+    // The lines the filter logged on every authenticated request before the logging cleanup
+    @Benchmark
+    public MockHttpServletRequest previousLogging() throws ServletException, IOException {
+        MockHttpServletRequest request = request();
+        String header = request.getHeader("Authorization");
+        logger.info("Starting filter for request URI: {}", request.getRequestURI());
+        logger.info("Authorization header: {}", header);
+        logger.info("JWT token found in Authorization header.");
+        logger.info("Extracted token: {}", token);
+        logger.info("Token validated successfully.");
+        logger.info("Extracted userId: {}", "665f1c2ab3e4d5f6a7b8c9d0");
+        logger.info("Extracted status before normalization: {}", "paid");
+        logger.info("Normalized status/authority: {}", "PAID");
+        logger.info("Authentication set in SecurityContextHolder.");
+        logger.info("Continuing filter chain.");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return request;
+    }
+
+    // A fresh request each time, OncePerRequestFilter marks the ones it has already seen
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/hackathons/active");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthenticationFilterLoggingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
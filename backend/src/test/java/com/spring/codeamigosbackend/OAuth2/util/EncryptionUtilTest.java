@@ -0,0 +1,101 @@
+package com.spring.codeamigosbackend.OAuth2.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EncryptionUtilTest {
+
+    private static final String SECRET = "test-secret";
+
+    @Test
+    void encryptsAsV2AndRoundTrips() {
+        String ciphertext = EncryptionUtil.encrypt("gho_token-\u00e4\u00f6", SECRET);
+
+        assertThat(ciphertext).startsWith("v2:");
+        assertThat(EncryptionUtil.decrypt(ciphertext, SECRET)).isEqualTo("gho_token-\u00e4\u00f6");
+    }
+
+    @Test
+    void usesAFreshIvPerEncryption() {
+        assertThat(EncryptionUtil.encrypt("same", SECRET)).isNotEqualTo(EncryptionUtil.encrypt("same", SECRET));
+    }
+
+    @Test
+    void decryptsLegacyCbcCiphertext() throws Exception {
+        String legacy = legacyEncrypt("stored before GCM", SECRET);
+
+        assertThat(EncryptionUtil.decrypt(legacy, SECRET)).isEqualTo("stored before GCM");
+    }
+
+    @Test
+    void rejectsWrongSecretAndTamperedCiphertext() {
+        String ciphertext = EncryptionUtil.encrypt("secret value", SECRET);
+        byte[] raw = Base64.getDecoder().decode(ciphertext.substring(3));
+        raw[raw.length - 1] ^= 1;
+        String tampered = "v2:" + Base64.getEncoder().encodeToString(raw);
+
+        assertThatThrownBy(() -> EncryptionUtil.decrypt(ciphertext, "other-secret")).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> EncryptionUtil.decrypt(tampered, SECRET)).isInstanceOf(RuntimeException.class);
+        // A failed decryption must not leave the thread's cipher unusable
+        assertThat(EncryptionUtil.decrypt(ciphertext, SECRET)).isEqualTo("secret value");
+    }
+
+    @Test
+    void threadLocalCiphersAreSafeUnderConcurrentUse() throws Exception {
+        String legacy = legacyEncrypt("legacy", SECRET);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                tasks.add(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        String plaintext = "thread-" + thread + "-message-" + i;
+                        String secret = SECRET + (i % 3);
+                        if (!plaintext.equals(EncryptionUtil.decrypt(EncryptionUtil.encrypt(plaintext, secret), secret))
+                                || !"legacy".equals(EncryptionUtil.decrypt(legacy, SECRET))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+            }
+            for (Future<Boolean> result : pool.invokeAll(tasks)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // The format written before v2: Base64(16 byte IV + AES-CBC ciphertext), key = SHA-256(secret)
+    private static String legacyEncrypt(String plaintext, String secret) throws Exception {
+        byte[] keyBytes = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        byte[] iv = new byte[16];
+        new SecureRandom().nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyBytes, "AES"), new IvParameterSpec(iv));
+        byte[] encrypted = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+
+        byte[] combined = new byte[iv.length + encrypted.length];
+        System.arraycopy(iv, 0, combined, 0, iv.length);
+        System.arraycopy(encrypted, 0, combined, iv.length, encrypted.length);
+        return Base64.getEncoder().encodeToString(combined);
+    }
+}
@@ -0,0 +1,57 @@
+package com.spring.codeamigosbackend.OAuth2.util;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full parse and signature check of a JWT against the verified-token cache hit the auth filter
+ * takes for a token it has seen before. Not part of the test run; needs JWT_SECRET_KEY (32+ bytes)
+ * in the environment and is started with the main method or
+ * {@code java -cp target/test-classes:<test classpath> ...JwtUtilBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtUtilBenchmark {
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = JwtUtil.generateToken("665f1c2ab3e4d5f6a7b8c9d0", "alice", "alice@example.com", "paid");
+        JwtUtil.verifyCached(token);
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return JwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public VerifiedTokenCache.VerifiedToken verifyCached() {
+        return JwtUtil.verifyCached(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
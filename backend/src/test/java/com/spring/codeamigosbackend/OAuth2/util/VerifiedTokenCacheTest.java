@@ -0,0 +1,55 @@
+package com.spring.codeamigosbackend.OAuth2.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void returnsTheVerifiedTokenForTheSameRawToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, nanos::get, Runnable::run);
+        VerifiedTokenCache.VerifiedToken verified = cache.put("token-a", claimsExpiringIn(Duration.ofHours(1)), "PAID");
+
+        assertThat(cache.get("token-a")).isSameAs(verified);
+        assertThat(cache.get("token-b")).isNull();
+    }
+
+    @Test
+    void entriesExpireWithTheirToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, nanos::get, Runnable::run);
+        cache.put("short", claimsExpiringIn(Duration.ofMinutes(1)), "PAID");
+        cache.put("long", claimsExpiringIn(Duration.ofDays(5)), "PAID");
+        cache.put("expired", claimsExpiringIn(Duration.ofSeconds(-1)), "PAID");
+
+        assertThat(cache.get("expired")).isNull();
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.get("long")).isNotNull();
+    }
+
+    @Test
+    void staysWithinCapacityAndStillCachesNewTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, nanos::get, Runnable::run);
+        for (int i = 0; i < 5; i++) {
+            cache.put("token-" + i, claimsExpiringIn(Duration.ofDays(5)), "PAID");
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("token-4")).isNotNull();
+    }
+
+    private static Claims claimsExpiringIn(Duration duration) {
+        return Jwts.claims().subject("user").expiration(new Date(System.currentTimeMillis() + duration.toMillis())).build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.spring.codeamigosbackend.config;
+
+import com.spring.codeamigosbackend.MongoContainerTest;
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.personalchat.model.ChatMessage;
+import com.spring.codeamigosbackend.personalchat.model.Message;
+import com.spring.codeamigosbackend.personalchat.model.PersonalChat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains the hackathon list queries, the keyset @Query methods included, against the indexes
+ * MongoIndexConfig creates and fails the build if any of them would scan the whole collection.
+ * Also checks the pairKey backfill merges the duplicate chats of a member pair.
+ */
+class MongoIndexConfigTest extends MongoContainerTest {
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 50; i++) {
+            mongoTemplate.insert(hackathon(i));
+        }
+    }
+
+    @Test
+    void everyHackathonListQueryUsesAnIndex() {
+        MongoIndexConfig config = new MongoIndexConfig(mongoTemplate);
+        config.ensureIndexes();
+
+        assertThat(config.findHackathonCollectionScans()).isEmpty();
+    }
+
+    @Test
+    void reportsKeysetQueriesWithoutAnIndex() {
+        MongoIndexConfig config = new MongoIndexConfig(mongoTemplate);
+
+        assertThat(config.findHackathonCollectionScans())
+                .contains("active", "past", "findActiveSummaries", "findUpcomingSummaries",
+                        "findOngoingSummaries", "findPastSummaries");
+    }
+
+    @Test
+    void mergesDuplicateChatsOfAPairIntoTheOneWithHistory() {
+        PersonalChat empty = legacyChat();
+        PersonalChat withHistory = legacyChat();
+        withHistory.setUnreadCounts(new HashMap<>(Map.of("bob-id", 2)));
+        mongoTemplate.save(withHistory);
+        mongoTemplate.insert(new ChatMessage(withHistory.getId(), "alice", "first", LocalDateTime.now().minusMinutes(2)));
+        mongoTemplate.insert(new ChatMessage(withHistory.getId(), "alice", "second", LocalDateTime.now().minusMinutes(1)));
+
+        new MongoIndexConfig(mongoTemplate).ensureIndexes();
+
+        assertThat(mongoTemplate.findAll(PersonalChat.class)).singleElement().satisfies(chat -> {
+            assertThat(chat.getId()).isEqualTo(withHistory.getId());
+            assertThat(chat.getPairKey()).isEqualTo(PersonalChat.pairKeyOf("alice-id", "bob-id"));
+            assertThat(chat.getRecentMessages()).extracting(Message::getContent).containsExactly("first", "second");
+            assertThat(chat.getUnreadCounts()).containsEntry("bob-id", 2);
+        });
+        assertThat(mongoTemplate.exists(Query.query(Criteria.where("_id").is(empty.getId())), PersonalChat.class)).isFalse();
+    }
+
+    @Test
+    void movesTheHistoryOfEveryDuplicateToTheKeptChat() {
+        PersonalChat older = legacyChat();
+        PersonalChat newer = legacyChat();
+        mongoTemplate.insert(new ChatMessage(older.getId(), "alice", "old", LocalDateTime.now().minusDays(1)));
+        mongoTemplate.insert(new ChatMessage(newer.getId(), "bob", "new", LocalDateTime.now()));
+
+        new MongoIndexConfig(mongoTemplate).ensureIndexes();
+
+        assertThat(mongoTemplate.findAll(PersonalChat.class)).extracting(PersonalChat::getId).containsExactly(older.getId());
+        assertThat(mongoTemplate.findAll(ChatMessage.class)).extracting(ChatMessage::getChatId).containsOnly(older.getId());
+    }
+
+    // Saved without a pairKey, as chats were before it existed
+    private PersonalChat legacyChat() {
+        PersonalChat chat = new PersonalChat();
+        chat.setMember1Id("alice-id");
+        chat.setMember2Id("bob-id");
+        return mongoTemplate.insert(chat);
+    }
+
+    private static Hackathon hackathon(int i) {
+        Hackathon hackathon = new Hackathon();
+        hackathon.setTitle("Hackathon " + i);
+        Hackathon.RegistrationDates dates = new Hackathon.RegistrationDates();
+        dates.setStart(LocalDateTime.now().plusDays(i - 25));
+        dates.setEnd(LocalDateTime.now().plusDays(i - 20));
+        hackathon.setRegistrationDates(dates);
+        return hackathon;
+    }
+}
@@ -0,0 +1,61 @@
+package com.spring.codeamigosbackend.config;
+
+import com.spring.codeamigosbackend.MongoContainerTest;
+import com.spring.codeamigosbackend.personalchat.model.ChatMessage;
+import com.spring.codeamigosbackend.personalchat.model.PersonalChat;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the embedded-messages migration against a real Mongo on chats in the shapes found in production.
+ */
+class PersonalChatMessageMigrationTest extends MongoContainerTest {
+
+    @Test
+    void backfillsMissingTimestampsInSendOrder() {
+        ObjectId chatId = new ObjectId();
+        Date sent = new Date(chatId.getDate().getTime() + 60_000);
+        insertLegacyChat(chatId, List.of(message("a", null), message("b", sent), message("c", null)), null);
+
+        new PersonalChatMessageMigration(mongoTemplate).migrate();
+
+        List<ChatMessage> history = mongoTemplate.find(new Query().with(Sort.by("timestamp", "_id")), ChatMessage.class);
+        assertThat(history).extracting(ChatMessage::getContent).containsExactly("a", "b", "c");
+        assertThat(history).allSatisfy(message -> assertThat(message.getTimestamp()).isNotNull());
+        assertThat(mongoTemplate.findById(chatId, Document.class, "personal_chat")).doesNotContainKey("messages");
+    }
+
+    @Test
+    void keepsAPreviewThatNewMessagesAlreadyFilled() {
+        ObjectId chatId = new ObjectId();
+        List<Document> preview = List.of(new Document("sender", "bob").append("content", "new").append("timestamp", new Date()));
+        insertLegacyChat(chatId, List.of(message("old", new Date())), preview);
+
+        new PersonalChatMessageMigration(mongoTemplate).migrate();
+
+        PersonalChat chat = mongoTemplate.findById(chatId, PersonalChat.class);
+        assertThat(chat.getRecentMessages()).extracting("content").containsExactly("new");
+        assertThat(mongoTemplate.count(new Query(), ChatMessage.class)).isEqualTo(1);
+    }
+
+    private void insertLegacyChat(ObjectId id, List<Document> messages, List<Document> recentMessages) {
+        Document chat = new Document("_id", id).append("member1Id", "alice-id").append("member2Id", "bob-id")
+                .append("messages", messages);
+        if (recentMessages != null) {
+            chat.append("recentMessages", recentMessages);
+        }
+        mongoTemplate.insert(chat, "personal_chat");
+    }
+
+    private static Document message(String content, Date timestamp) {
+        return new Document("sender", "alice").append("content", content).append("timestamp", timestamp);
+    }
+}
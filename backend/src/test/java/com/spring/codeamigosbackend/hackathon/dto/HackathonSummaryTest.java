@@ -0,0 +1,46 @@
+package com.spring.codeamigosbackend.hackathon.dto;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HackathonSummaryTest {
+
+    @Test
+    void joinStatusFollowsTheViewersRequest() {
+        Hackathon hackathon = hackathon(4, 2);
+        hackathon.setRequestsToJoin(new ArrayList<>(List.of("pending", "accepted", "rejected")));
+        hackathon.setAcceptedUsers(new ArrayList<>(List.of("accepted")));
+        hackathon.setRejectedUsers(new ArrayList<>(List.of("rejected")));
+
+        assertThat(HackathonSummary.joinStatusOf(hackathon, "creator")).isEqualTo(HackathonSummary.JoinStatus.CREATOR);
+        assertThat(HackathonSummary.joinStatusOf(hackathon, "accepted")).isEqualTo(HackathonSummary.JoinStatus.ACCEPTED);
+        assertThat(HackathonSummary.joinStatusOf(hackathon, "rejected")).isEqualTo(HackathonSummary.JoinStatus.REJECTED);
+        assertThat(HackathonSummary.joinStatusOf(hackathon, "pending")).isEqualTo(HackathonSummary.JoinStatus.PENDING);
+        assertThat(HackathonSummary.joinStatusOf(hackathon, "someone")).isEqualTo(HackathonSummary.JoinStatus.OPEN);
+    }
+
+    @Test
+    void fullTeamsCannotBeJoinedButStillShowTheViewersRequest() {
+        Hackathon hackathon = hackathon(3, 3);
+        hackathon.setRequestsToJoin(null);
+        hackathon.setAcceptedUsers(new ArrayList<>(List.of("accepted")));
+
+        assertThat(HackathonSummary.joinStatusOf(hackathon, "someone")).isEqualTo(HackathonSummary.JoinStatus.FULL);
+        assertThat(HackathonSummary.joinStatusOf(hackathon, "accepted")).isEqualTo(HackathonSummary.JoinStatus.ACCEPTED);
+    }
+
+    private static Hackathon hackathon(int maxTeamSize, int currentTeamSize) {
+        Hackathon hackathon = new Hackathon();
+        hackathon.setCreatedBy("creator");
+        Hackathon.TeamSize teamSize = new Hackathon.TeamSize();
+        teamSize.setMax(maxTeamSize);
+        hackathon.setTeamSize(teamSize);
+        hackathon.setCurrentTeamSize(currentTeamSize);
+        return hackathon;
+    }
+}
@@ -0,0 +1,83 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.spring.codeamigosbackend.MongoContainerTest;
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.hackathon.repository.HackathonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Writes hackathons straight into Mongo, as another node would, and checks the catalog picks them
+ * up from the change stream without a reload.
+ */
+class HackathonCatalogChangeStreamTest extends MongoContainerTest {
+
+    private HackathonCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.insert(hackathon("existing"));
+        HackathonRepository repository = new MongoRepositoryFactory(mongoTemplate).getRepository(HackathonRepository.class);
+        catalog = new HackathonCatalog(repository, mongoTemplate, mock(TaskScheduler.class), mock(ApplicationEventPublisher.class),
+                mock(HackathonCache.class));
+        catalog.onApplicationReady();
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.stopWatching();
+    }
+
+    @Test
+    void loadsOnStartAndFollowsInsertsUpdatesAndDeletes() throws InterruptedException {
+        awaitSnapshot(snapshot -> snapshot.byId().containsKey("existing"));
+
+        mongoTemplate.insert(hackathon("inserted"));
+        awaitSnapshot(snapshot -> snapshot.byId().containsKey("inserted"));
+
+        Hackathon renamed = hackathon("inserted");
+        renamed.setTitle("Renamed");
+        mongoTemplate.save(renamed);
+        awaitSnapshot(snapshot -> "Renamed".equals(snapshot.byId().get("inserted").getTitle()));
+
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is("existing")), Hackathon.class);
+        awaitSnapshot(snapshot -> !snapshot.byId().containsKey("existing"));
+
+        assertThat(catalog.current().active()).extracting(Hackathon::getId).containsExactly("inserted");
+    }
+
+    private void awaitSnapshot(Predicate<HackathonCatalog.Snapshot> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            HackathonCatalog.Snapshot snapshot = catalog.current();
+            if (snapshot != null && condition.test(snapshot)) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Catalog did not reach the expected state, current: " + catalog.current());
+    }
+
+    private static Hackathon hackathon(String id) {
+        Hackathon hackathon = new Hackathon();
+        hackathon.setId(id);
+        hackathon.setTitle(id);
+        Hackathon.RegistrationDates dates = new Hackathon.RegistrationDates();
+        dates.setStart(LocalDateTime.now().minusDays(1));
+        dates.setEnd(LocalDateTime.now().plusDays(7));
+        hackathon.setRegistrationDates(dates);
+        return hackathon;
+    }
+}
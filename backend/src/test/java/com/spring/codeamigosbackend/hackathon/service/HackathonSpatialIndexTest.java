@@ -0,0 +1,68 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HackathonSpatialIndexTest {
+
+    @Test
+    void findsHackathonsWithinRadiusNearestFirst() {
+        HackathonSpatialIndex index = HackathonSpatialIndex.build(List.of(
+                hackathon("pune", 18.52, 73.86), hackathon("mumbai", 19.08, 72.88), hackathon("delhi", 28.61, 77.21)));
+
+        // From Lonavala: Pune ~55 km, Mumbai ~70 km, Delhi ~1200 km
+        List<HackathonSpatialIndex.Match> matches = index.findWithin(18.75, 73.41, 100);
+
+        assertThat(matches).extracting(HackathonSpatialIndex.Match::hackathonId).containsExactly("pune", "mumbai");
+        assertThat(matches.get(0).distanceKm()).isLessThan(matches.get(1).distanceKm());
+    }
+
+    @Test
+    void searchesAcrossTheAntimeridian() {
+        HackathonSpatialIndex index = HackathonSpatialIndex.build(List.of(hackathon("fiji", -17.8, 179.9), hackathon("samoa", -17.8, -179.9)));
+
+        assertThat(index.findWithin(-17.8, 179.95, 50))
+                .extracting(HackathonSpatialIndex.Match::hackathonId)
+                .containsExactlyInAnyOrder("fiji", "samoa");
+    }
+
+    @Test
+    void skipsHackathonsWhoseRegistrationClosed() {
+        Hackathon closed = hackathon("closed", 18.52, 73.86);
+        closed.getRegistrationDates().setEnd(LocalDateTime.now().minusMinutes(1));
+        HackathonSpatialIndex index = HackathonSpatialIndex.build(List.of(closed, hackathon("open", 18.53, 73.85)));
+
+        assertThat(index.findWithin(18.52, 73.86, 10))
+                .extracting(HackathonSpatialIndex.Match::hackathonId)
+                .containsExactly("open");
+    }
+
+    @Test
+    void skipsHackathonsWithoutCoordinates() {
+        Hackathon online = hackathon("online", 0, 0);
+        online.setLatitude(null);
+        online.setLongitude(null);
+        HackathonSpatialIndex index = HackathonSpatialIndex.build(List.of(online, hackathon("pune", 18.52, 73.86)));
+
+        assertThat(index.findWithin(18.52, 73.86, 10))
+                .extracting(HackathonSpatialIndex.Match::hackathonId)
+                .containsExactly("pune");
+    }
+
+    private static Hackathon hackathon(String id, double latitude, double longitude) {
+        Hackathon hackathon = new Hackathon();
+        hackathon.setId(id);
+        hackathon.setLatitude(latitude);
+        hackathon.setLongitude(longitude);
+        Hackathon.RegistrationDates dates = new Hackathon.RegistrationDates();
+        dates.setStart(LocalDateTime.now().minusDays(1));
+        dates.setEnd(LocalDateTime.now().plusDays(7));
+        hackathon.setRegistrationDates(dates);
+        return hackathon;
+    }
+}
@@ -0,0 +1,125 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import com.spring.codeamigosbackend.recommendation.events.FrameworkStatsUpdatedEvent;
+import com.spring.codeamigosbackend.recommendation.models.UserFrameworkStats;
+import com.spring.codeamigosbackend.recommendation.repositories.UserFrameworkStatsRepository;
+import com.spring.codeamigosbackend.registration.dto.UserSummary;
+import com.spring.codeamigosbackend.registration.service.UserLookupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TeammateRecommendationServiceTest {
+
+    private final UserFrameworkStatsRepository statsRepository = mock(UserFrameworkStatsRepository.class);
+    private final UserLookupService userLookupService = mock(UserLookupService.class);
+    private final HackathonService hackathonService = mock(HackathonService.class);
+    private final TeammateRecommendationService service =
+            new TeammateRecommendationService(statsRepository, userLookupService, hackathonService);
+
+    @BeforeEach
+    void setUp() {
+        when(userLookupService.getSummaries(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(id -> id, id -> new UserSummary(id, "user-" + id, null, null)));
+        });
+        when(userLookupService.getSummariesByUsername(anyCollection())).thenReturn(Map.of());
+    }
+
+    @Test
+    void greedySetCoverPicksTheUsersCoveringTheMostMissingFrameworks() {
+        givenStats(Map.of(
+                "a", Map.of("React", 50, "Spring Boot", 40),
+                "b", Map.of("Docker", 5),
+                "c", Map.of("React", 100),
+                "d", Map.of("Spring Boot", 10, "Docker", 10)));
+        givenHackathon(List.of("React", "Spring Boot", "Docker"), null, List.of());
+
+        List<TeammateRecommendationService.TeammateSuggestion> suggestions = service.recommendTeammates("h", 2);
+
+        // a and d both cover two frameworks, a with more files; then d covers docker with more files than b
+        assertThat(suggestions).extracting(TeammateRecommendationService.TeammateSuggestion::userId).containsExactly("a", "d");
+        assertThat(suggestions.get(0).frameworks()).containsExactly("react", "springboot");
+    }
+
+    @Test
+    void fillsRemainingSlotsWithTheStrongestUsersOnceCovered() {
+        givenStats(Map.of(
+                "a", Map.of("React", 50),
+                "b", Map.of("React", 5),
+                "c", Map.of("React", 100)));
+        givenHackathon(List.of("React"), null, List.of());
+
+        assertThat(service.recommendTeammates("h", 3))
+                .extracting(TeammateRecommendationService.TeammateSuggestion::userId)
+                .containsExactly("c", "a", "b");
+    }
+
+    @Test
+    void skipsTheTeamAndWhatItCoversEvenWithoutAcceptedUsers() {
+        givenStats(Map.of(
+                "creator-id", Map.of("React", 100),
+                "x", Map.of("React", 50),
+                "y", Map.of("Docker", 3)));
+        when(userLookupService.getSummariesByUsername(anyCollection()))
+                .thenReturn(Map.of("creator", new UserSummary("creator-id", "creator", null, null)));
+        givenHackathon(List.of("React", "Docker"), "creator", null);
+
+        assertThat(service.recommendTeammates("h", 1))
+                .extracting(TeammateRecommendationService.TeammateSuggestion::userId)
+                .containsExactly("y");
+    }
+
+    @Test
+    void statsSavedWhileARebuildReadsAreNotLost() {
+        UserFrameworkStats stale = stats("u", Map.of("React", 1));
+        when(statsRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            // Saved after the rebuild started, the page read below still has the old stats
+            service.onFrameworkStatsUpdated(new FrameworkStatsUpdatedEvent("u", "user-u", Map.of("Docker", 7)));
+            return new PageImpl<>(List.of(stale));
+        });
+        service.rebuild();
+        givenHackathon(List.of("Docker"), null, List.of());
+
+        assertThat(service.recommendTeammates("h", 5))
+                .extracting(TeammateRecommendationService.TeammateSuggestion::userId)
+                .containsExactly("u");
+    }
+
+    private void givenStats(Map<String, Map<String, Integer>> usageByUser) {
+        List<UserFrameworkStats> all = new ArrayList<>();
+        usageByUser.forEach((userId, usage) -> all.add(stats(userId, usage)));
+        when(statsRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(all));
+        service.rebuild();
+    }
+
+    private void givenHackathon(List<String> techStacks, String createdBy, List<String> acceptedUsers) {
+        Hackathon hackathon = new Hackathon();
+        hackathon.setId("h");
+        hackathon.setTechStacks(techStacks);
+        hackathon.setCreatedBy(createdBy);
+        hackathon.setAcceptedUsers(acceptedUsers);
+        when(hackathonService.getHackathonById("h")).thenReturn(hackathon);
+    }
+
+    private static UserFrameworkStats stats(String userId, Map<String, Integer> usage) {
+        UserFrameworkStats stats = new UserFrameworkStats();
+        stats.setUserId(userId);
+        stats.setFrameworkUsage(usage);
+        return stats;
+    }
+}
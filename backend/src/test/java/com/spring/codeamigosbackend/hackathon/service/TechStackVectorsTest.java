@@ -0,0 +1,60 @@
+package com.spring.codeamigosbackend.hackathon.service;
+
+import com.spring.codeamigosbackend.hackathon.model.Hackathon;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TechStackVectorsTest {
+
+    private final TechStackVectors vectors = TechStackVectors.build(List.of(
+            hackathon("web", "React", "Spring Boot"),
+            hackathon("ml", "PyTorch", "React"),
+            hackathon("rust", "Rust"),
+            hackathon("none")));
+
+    @Test
+    void userWithExactlyTheHackathonsStackScoresOne() {
+        float[] user = vectors.userVector(Map.of("Rust", 12));
+
+        assertThat(vectors.cosine(user, "rust")).isCloseTo(1f, within(1e-5f));
+        assertThat(vectors.cosine(user, "web")).isZero();
+    }
+
+    @Test
+    void rareFrameworksWeighMoreThanCommonOnes() {
+        // React is used by two hackathons, Spring Boot only by one
+        float[] reactUser = vectors.userVector(Map.of("react", 10));
+        float[] springUser = vectors.userVector(Map.of("spring boot", 10));
+
+        assertThat(vectors.cosine(springUser, "web")).isGreaterThan(vectors.cosine(reactUser, "web"));
+    }
+
+    @Test
+    void moreFilesInAFrameworkPullTheUserTowardsIt() {
+        float[] mostlySpring = vectors.userVector(Map.of("React", 1, "Spring Boot", 200));
+        float[] mostlyReact = vectors.userVector(Map.of("React", 200, "Spring Boot", 1));
+
+        assertThat(vectors.cosine(mostlyReact, "ml")).isGreaterThan(vectors.cosine(mostlySpring, "ml"));
+    }
+
+    @Test
+    void unknownHackathonsEmptyStacksAndUnusableStatsScoreZero() {
+        float[] user = vectors.userVector(Map.of("React", 5));
+
+        assertThat(vectors.cosine(user, "missing")).isZero();
+        assertThat(vectors.cosine(user, "none")).isZero();
+        assertThat(vectors.cosine(vectors.userVector(Map.of("React", 0, "COBOL", 3)), "web")).isZero();
+    }
+
+    private static Hackathon hackathon(String id, String... techStacks) {
+        Hackathon hackathon = new Hackathon();
+        hackathon.setId(id);
+        hackathon.setTechStacks(List.of(techStacks));
+        return hackathon;
+    }
+}
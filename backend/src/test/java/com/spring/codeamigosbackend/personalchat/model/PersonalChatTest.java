@@ -0,0 +1,34 @@
+package com.spring.codeamigosbackend.personalchat.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersonalChatTest {
+
+    @Test
+    void pairKeyIsTheSameWhicheverMemberComesFirst() {
+        assertThat(PersonalChat.pairKeyOf("b1", "a2")).isEqualTo("a2:b1");
+        assertThat(PersonalChat.pairKeyOf("a2", "b1")).isEqualTo("a2:b1");
+    }
+
+    @Test
+    void pairKeyOfAMemberWithThemselvesRepeatsTheId() {
+        assertThat(PersonalChat.pairKeyOf("a", "a")).isEqualTo("a:a");
+    }
+
+    @Test
+    void lastMessageIsTheNewestOfThePreview() {
+        PersonalChat chat = new PersonalChat();
+        assertThat(chat.lastMessage()).isNull();
+
+        chat.setRecentMessages(List.of(
+                new Message("a", "first", LocalDateTime.now().minusMinutes(1)),
+                new Message("b", "second", LocalDateTime.now())));
+
+        assertThat(chat.lastMessage().getContent()).isEqualTo("second");
+    }
+}
@@ -0,0 +1,110 @@
+package com.spring.codeamigosbackend.personalchat.service;
+
+import com.spring.codeamigosbackend.MongoContainerTest;
+import com.spring.codeamigosbackend.personalchat.model.ChatMessage;
+import com.spring.codeamigosbackend.personalchat.model.Message;
+import com.spring.codeamigosbackend.personalchat.model.PersonalChat;
+import com.spring.codeamigosbackend.personalchat.repository.ChatMessageRepository;
+import com.spring.codeamigosbackend.personalchat.repository.PersonalChatRepository;
+import com.spring.codeamigosbackend.registration.service.UserLookupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sends into one chat from many threads at once against a real Mongo and checks that no message
+ * is lost from the history, the preview or the unread count.
+ */
+class PersonalChatServiceConcurrencyTest extends MongoContainerTest {
+
+    private static final String SENDER_ID = "sender-id";
+    private static final String RECIPIENT_ID = "recipient-id";
+
+    private PersonalChatRepository personalChatRepository;
+    private ChatMessageRepository chatMessageRepository;
+    private final UserLookupService userLookupService = mock(UserLookupService.class);
+
+    @BeforeEach
+    void setUp() {
+        MongoRepositoryFactory repositories = new MongoRepositoryFactory(mongoTemplate);
+        personalChatRepository = repositories.getRepository(PersonalChatRepository.class);
+        chatMessageRepository = repositories.getRepository(ChatMessageRepository.class);
+
+        PersonalChat chat = new PersonalChat();
+        chat.setMember1Id(SENDER_ID);
+        chat.setMember2Id(RECIPIENT_ID);
+        chat.setPairKey(PersonalChat.pairKeyOf(SENDER_ID, RECIPIENT_ID));
+        personalChatRepository.insert(chat);
+        when(userLookupService.resolveIdByUsername("sender")).thenReturn(Optional.of(SENDER_ID));
+    }
+
+    @Test
+    void concurrentSendsAllReachHistoryPreviewAndUnreadCount() throws Exception {
+        PersonalChatService service = new PersonalChatService(
+                personalChatRepository, chatMessageRepository, userLookupService, mongoTemplate);
+        int senders = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(senders);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Message>> sends = new ArrayList<>();
+        try {
+            for (int i = 0; i < senders; i++) {
+                String content = "m" + i;
+                sends.add(pool.submit(() -> {
+                    start.await();
+                    return service.sendMessage(SENDER_ID, RECIPIENT_ID, "sender", content);
+                }));
+            }
+            start.countDown();
+            for (Future<Message> send : sends) {
+                send.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<ChatMessage> history = chatMessageRepository.findAll();
+        assertThat(history).hasSize(senders);
+
+        PersonalChat chat = personalChatRepository.findByPairKey(PersonalChat.pairKeyOf(SENDER_ID, RECIPIENT_ID)).orElseThrow();
+        List<LocalDateTime> preview = chat.getRecentMessages().stream().map(Message::getTimestamp).toList();
+        List<LocalDateTime> newest = history.stream().map(ChatMessage::getTimestamp).sorted()
+                .skip(senders - PersonalChatService.RECENT_MESSAGES).toList();
+        // The preview is the newest messages in time order, whatever order the pushes landed in
+        assertThat(preview).hasSize(PersonalChatService.RECENT_MESSAGES).isSortedAccordingTo(Comparator.naturalOrder());
+        assertThat(preview).isEqualTo(newest);
+        assertThat(chat.getUnreadCounts()).containsEntry(RECIPIENT_ID, senders);
+    }
+
+    @Test
+    void failedHistoryInsertIsTakenBackOutOfTheChat() {
+        ChatMessageRepository failing = mock(ChatMessageRepository.class);
+        when(failing.insert(any(ChatMessage.class))).thenReturn(null).thenThrow(new DataAccessResourceFailureException("down"));
+        PersonalChatService service = new PersonalChatService(
+                personalChatRepository, failing, userLookupService, mongoTemplate);
+
+        service.sendMessage(SENDER_ID, RECIPIENT_ID, "sender", "kept");
+        assertThatThrownBy(() -> service.sendMessage(SENDER_ID, RECIPIENT_ID, "sender", "lost"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        PersonalChat chat = personalChatRepository.findByPairKey(PersonalChat.pairKeyOf(SENDER_ID, RECIPIENT_ID)).orElseThrow();
+        assertThat(chat.getRecentMessages()).extracting(Message::getContent).containsExactly("kept");
+        assertThat(chat.getUnreadCounts()).containsEntry(RECIPIENT_ID, 1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.spring.codeamigosbackend.personalchat.service;
+
+import com.spring.codeamigosbackend.personalchat.dto.MessagePage;
+import com.spring.codeamigosbackend.personalchat.dto.PersonalChatSingleResponseDto;
+import com.spring.codeamigosbackend.personalchat.model.ChatMessage;
+import com.spring.codeamigosbackend.personalchat.model.Message;
+import com.spring.codeamigosbackend.personalchat.model.PersonalChat;
+import com.spring.codeamigosbackend.personalchat.repository.ChatMessageRepository;
+import com.spring.codeamigosbackend.personalchat.repository.PersonalChatRepository;
+import com.spring.codeamigosbackend.registration.service.UserLookupService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PersonalChatServiceTest {
+
+    private static final String CHAT_ID = "chat-1";
+
+    private final PersonalChatRepository personalChatRepository = mock(PersonalChatRepository.class);
+    private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+    private final UserLookupService userLookupService = mock(UserLookupService.class);
+    private final PersonalChatService service = new PersonalChatService(
+            personalChatRepository, chatMessageRepository, userLookupService, mock(MongoTemplate.class));
+
+    @BeforeEach
+    void setUp() {
+        PersonalChat chat = new PersonalChat();
+        chat.setId(CHAT_ID);
+        when(personalChatRepository.findIdByPairKey(PersonalChat.pairKeyOf("a", "b"))).thenReturn(Optional.of(chat));
+        when(userLookupService.getSummaries(anyCollection())).thenReturn(Map.of());
+    }
+
+    @Test
+    void fullPageCarriesACursorThatResumesRightBeforeItsOldestMessage() {
+        List<ChatMessage> newestFirst = messages(3);
+        when(chatMessageRepository.findByChatIdOrderByTimestampDescIdDesc(CHAT_ID, PageRequest.of(0, 3))).thenReturn(newestFirst);
+
+        MessagePage page = service.getMessagePage("b", "a", null, 3);
+
+        // Returned oldest first
+        assertThat(page.getItems()).extracting(Message::getContent).containsExactly("m0", "m1", "m2");
+        assertThat(page.getNextCursor()).isNotNull();
+
+        ChatMessage oldest = newestFirst.get(2);
+        service.getMessagePage("a", "b", page.getNextCursor(), 3);
+        verify(chatMessageRepository).findByChatIdBefore(CHAT_ID, oldest.getTimestamp(), new ObjectId(oldest.getId()), PageRequest.of(0, 3));
+    }
+
+    @Test
+    void shortPageEndsTheHistory() {
+        when(chatMessageRepository.findByChatIdOrderByTimestampDescIdDesc(eq(CHAT_ID), any())).thenReturn(messages(2));
+
+        assertThat(service.getMessagePage("a", "b", null, 3).getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> service.getMessagePage("a", "b", "not a cursor", 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getMessagePage("a", "b", "MTIzfHh5eg", 3)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void openingAnExistingChatReturnsOnlyTheNewestPage() {
+        when(chatMessageRepository.findByChatIdOrderByTimestampDescIdDesc(eq(CHAT_ID), any())).thenReturn(messages(2));
+
+        PersonalChatSingleResponseDto response = service.createOrGetPersonalChat("a", "b");
+
+        assertThat(response.getMessage()).extracting(Message::getContent).containsExactly("m0", "m1");
+        verify(chatMessageRepository).findByChatIdOrderByTimestampDescIdDesc(CHAT_ID, PageRequest.of(0, PersonalChatService.RECENT_MESSAGES));
+    }
+
+    // Newest first, one second apart, millisecond precision like Mongo dates
+    private static List<ChatMessage> messages(int count) {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<ChatMessage> newestFirst = new ArrayList<>();
+        for (int i = count - 1; i >= 0; i--) {
+            ChatMessage message = new ChatMessage(CHAT_ID, "a", "m" + i, start.plusSeconds(i));
+            message.setId(new ObjectId().toHexString());
+            newestFirst.add(message);
+        }
+        return newestFirst;
+    }
+}
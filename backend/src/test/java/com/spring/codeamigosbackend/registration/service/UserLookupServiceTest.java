@@ -0,0 +1,69 @@
+package com.spring.codeamigosbackend.registration.service;
+
+import com.spring.codeamigosbackend.registration.dto.UserSummary;
+import com.spring.codeamigosbackend.registration.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLookupServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+    private UserLookupService service;
+    private MessageListener evictions;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserLookupService(userRepository, stringRedisTemplate, listenerContainer);
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(ChannelTopic.class));
+        evictions = listener.getValue();
+        when(userRepository.findSummaryByUsername("alice"))
+                .thenReturn(Optional.of(new UserSummary("id-1", "alice", "alice-gh", null)));
+    }
+
+    @Test
+    void evictPublishesTheOldNamesToOtherNodes() {
+        UserSummary alice = new UserSummary("id-1", "alice", "alice-gh", null);
+        service.resolveIdByUsername("alice");
+
+        service.evict(alice);
+        service.resolveIdByUsername("alice");
+
+        verify(stringRedisTemplate).convertAndSend(eq("users:evicted"), anyString());
+        verify(userRepository, times(2)).findSummaryByUsername("alice");
+    }
+
+    @Test
+    void evictionFromAnotherNodeDropsTheCachedResolution() {
+        assertThat(service.resolveIdByUsername("alice")).contains("id-1");
+        service.resolveIdByUsername("alice");
+        verify(userRepository, times(1)).findSummaryByUsername("alice");
+
+        String body = "{\"id\":\"id-1\",\"username\":\"alice\",\"githubUsername\":\"alice-gh\"}";
+        evictions.onMessage(new DefaultMessage("users:evicted".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+        service.resolveIdByUsername("alice");
+
+        verify(userRepository, times(2)).findSummaryByUsername("alice");
+    }
+}
@@ -225,8 +225,8 @@ function ChatDropDown() {
                         withCredentials: true,
                     });
                     const sortedPersonalChat = response.data.sort((a, b) => {
-                        const latestA = a.messages?.length ? new Date(a.messages[a.messages.length - 1].timestamp).getTime() : 0;
-                        const latestB = b.messages?.length ? new Date(b.messages[b.messages.length - 1].timestamp).getTime() : 0;
+                        const latestA = a.lastMessage?.timestamp ? new Date(a.lastMessage.timestamp).getTime() : 0;
+                        const latestB = b.lastMessage?.timestamp ? new Date(b.lastMessage.timestamp).getTime() : 0;
                         return latestB - latestA;
                     });
                     setPersonalChats(sortedPersonalChat);
@@ -331,6 +331,10 @@ function ChatDropDown() {
         setMember2Id(chatId);
         setMember2Name(partnerName);
         setPendingLeaderName(""); // Clear pending leader to avoid conflicts
+        // The chat view marks it read on the server
+        const clearUnread = (chats) => chats.map((chat) => chat.id === chatId ? { ...chat, unreadCount: 0 } : chat);
+        setPersonalChats(clearUnread);
+        setFilteredPersonalChats(clearUnread);
     };
 
     const handleBackToChats = () => {
@@ -544,6 +548,11 @@ function ChatDropDown() {
                                                 Tap to open chat
                                             </p>
                                         </div>
+                                        {personalChat.unreadCount > 0 && (
+                                            <span className="ml-2 min-w-[1.5rem] px-2 py-0.5 rounded-full bg-green-600 text-white text-xs font-bold text-center">
+                                                {personalChat.unreadCount}
+                                            </span>
+                                        )}
                                     </div>
                                 ))
                             ) : (
@@ -44,12 +44,29 @@ const decryptAES = async (encryptedBase64, base64Key) => {
   return new TextDecoder().decode(decrypted);
 };
 
+const MESSAGE_PAGE_SIZE = 30;
+
+const decryptMessages = (items, secretKey) =>
+  Promise.all(
+    items.map(async (msg) => {
+      if (typeof msg.content !== 'string') return { ...msg, content: '[Invalid]' };
+      try {
+        const text = await decryptAES(msg.content, secretKey);
+        return { ...msg, content: text };
+      } catch {
+        return { ...msg, content: '[Decryption Failed]' };
+      }
+    })
+  );
+
 const PersonalChatChat = ({ memberId, memberName, isKeySetupComplete, onBackClick, isMobile }) => {
   const { username, userId } = useAuth();
   const [currentUserId, setCurrentUserId] = useState("");
   const [currentUser, setCurrentUser] = useState("");
   const [member2Id, setMember2Id] = useState("");
   const [messages, setMessages] = useState([]);
+  const [olderCursor, setOlderCursor] = useState(null);
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const [input, setInput] = useState("");
   const [showEmojiPicker, setShowEmojiPicker] = useState(false);
   const [loading, setLoading] = useState(true);
@@ -59,6 +76,8 @@ const PersonalChatChat = ({ memberId, memberName, isKeySetupComplete, onBackClic
   const chatContainerRef = useRef(null);
   const stompClientRef = useRef(null);
   const messageInputRef = useRef(null);
+  // Scroll height before an older page was prepended, null when the last update was not a prepend
+  const heightBeforePrependRef = useRef(null);
   const navigate = useNavigate();
 
   useEffect(() => {
@@ -98,29 +117,23 @@ const PersonalChatChat = ({ memberId, memberName, isKeySetupComplete, onBackClic
         if (!secretKey) throw new Error("Secret key missing");
 
         const { data } = await axios.get(
-          `${API_BASE}/api/v1/personal_chat/all_messages/${sortedChatId}`,
-          { withCredentials: true }
+          `${API_BASE}/api/v1/personal_chat/${sortedChatId}/messages`,
+          { params: { size: MESSAGE_PAGE_SIZE }, withCredentials: true }
         );
 
-        if (Array.isArray(data)) {
-          const decrypted = await Promise.all(
-            data.map(async (msg) => {
-              if (typeof msg.content !== 'string') return { ...msg, content: '[Invalid]' };
-              try {
-                const text = await decryptAES(msg.content, secretKey);
-                return { ...msg, content: text };
-              } catch {
-                return { ...msg, content: '[Decryption Failed]' };
-              }
-            })
-          );
-          isMounted && setMessages(decrypted);
-        } else {
-          isMounted && setMessages([]);
+        const decrypted = await decryptMessages(data?.items ?? [], secretKey);
+        if (isMounted) {
+          setMessages(decrypted);
+          setOlderCursor(data?.nextCursor ?? null);
         }
+        axios.post(`${API_BASE}/api/v1/personal_chat/${sortedChatId}/read`, null, { withCredentials: true })
+          .catch((err) => console.error("Mark read error:", err));
       } catch (err) {
         console.error("Fetch messages error:", err);
-        isMounted && setMessages([]);
+        if (isMounted) {
+          setMessages([]);
+          setOlderCursor(null);
+        }
         toast.error('Failed to load messages');
       } finally {
         isMounted && setLoading(false);
@@ -131,7 +144,41 @@ const PersonalChatChat = ({ memberId, memberName, isKeySetupComplete, onBackClic
     return () => { isMounted = false; };
   }, [isReady, currentUserId, member2Id, memberName]);
 
+  const loadOlderMessages = async () => {
+    if (!olderCursor || loadingOlder) return;
+    setLoadingOlder(true);
+    try {
+      const secretKey = await getChatKeyFromIdb(username, memberName);
+      if (!secretKey) throw new Error("Secret key missing");
+      const sortedChatId = [currentUserId, member2Id].sort().join("/");
+      const { data } = await axios.get(
+        `${API_BASE}/api/v1/personal_chat/${sortedChatId}/messages`,
+        { params: { before: olderCursor, size: MESSAGE_PAGE_SIZE }, withCredentials: true }
+      );
+      const decrypted = await decryptMessages(data?.items ?? [], secretKey);
+      heightBeforePrependRef.current = chatContainerRef.current?.scrollHeight ?? 0;
+      setMessages((prev) => [...decrypted, ...prev]);
+      setOlderCursor(data?.nextCursor ?? null);
+    } catch (err) {
+      console.error("Load older messages error:", err);
+      toast.error('Failed to load older messages');
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   useEffect(() => {
+    // Only follow new messages at the bottom; after prepending an older page keep the reader where they were
+    const heightBeforePrepend = heightBeforePrependRef.current;
+    if (heightBeforePrepend !== null) {
+      heightBeforePrependRef.current = null;
+      const container = chatContainerRef.current;
+      if (container) {
+        // 'instant' overrides the container's smooth scrolling, the view must not visibly jump
+        container.scrollTo({ top: container.scrollTop + container.scrollHeight - heightBeforePrepend, behavior: 'instant' });
+      }
+      return;
+    }
     messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
   }, [messages]);
 
@@ -160,6 +207,11 @@ const PersonalChatChat = ({ memberId, memberName, isKeySetupComplete, onBackClic
             newMsg.content = '[Decryption Failed]';
           }
           setMessages((prev) => [...prev, newMsg]);
+          // Seen right away while the chat is open
+          if (newMsg.sender !== username) {
+            axios.post(`${API_BASE}/api/v1/personal_chat/${sortedChatId}/read`, null, { withCredentials: true })
+              .catch((err) => console.error("Mark read error:", err));
+          }
         }
       );
     }, (error) => {
@@ -245,6 +297,17 @@ const PersonalChatChat = ({ memberId, memberName, isKeySetupComplete, onBackClic
           </div>
         ) : (
           <div className="space-y-3">
+            {olderCursor && (
+              <div className="flex justify-center">
+                <button
+                  onClick={loadOlderMessages}
+                  disabled={loadingOlder}
+                  className="px-3 py-1 text-xs sm:text-sm rounded-full bg-gray-700 text-gray-200 hover:bg-gray-600 disabled:opacity-50"
+                >
+                  {loadingOlder ? 'Loading...' : 'Load older messages'}
+                </button>
+              </div>
+            )}
             {messages.map((msg, idx) => (
               <div
                 key={idx}
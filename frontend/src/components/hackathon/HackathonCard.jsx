@@ -25,43 +25,45 @@ const HackathonCard = ({
   teamSize,
   acceptedUsers,
   rejectedUsers,
-  techStacks
+  techStacks,
+  joinStatus
 }) => {
   const { username } = useAuth();
   // const username = localStorage.getItem("username");
-  const hasRequested = requestsToJoin.includes(username);
-  const isCreatedByUser = createdBy === username;
-  const isRequestAccepted = acceptedUsers.includes(username);
-  const isRequestRejected = rejectedUsers.includes(username);
+  // List pages send the viewer's joinStatus with each summary, full documents carry the request lists
+  const status = joinStatus ?? statusFromLists();
+
+  function statusFromLists() {
+    const hasRequestLists = Array.isArray(requestsToJoin);
+    if (createdBy === username) return "CREATOR";
+    if (hasRequestLists && acceptedUsers.includes(username)) return "ACCEPTED";
+    if (hasRequestLists && rejectedUsers.includes(username)) return "REJECTED";
+    if (hasRequestLists && requestsToJoin.includes(username)) return "PENDING";
+    if (teamSize.max === currentTeamSize) return "FULL";
+    return "OPEN";
+  }
 
   let buttonContent;
   let buttonStyle =
     "px-6 py-3 text-white font-bold rounded-lg transition-all duration-300 transform shadow-lg";
   let linkTo = `/dashboard/hackathons/${id}`;
 
-  if (
-    joinable &&
-    !isCreatedByUser &&
-    !hasRequested &&
-    !isRequestAccepted &&
-    !isRequestRejected &&
-    teamSize.max !== currentTeamSize
-  ) {
+  if (joinable && status === "OPEN") {
     buttonContent = "Join Now 🚀";
     buttonStyle += " bg-blue-500 hover:bg-blue-600 hover:scale-105";
-  } else if (hasRequested && !isRequestAccepted && !isRequestRejected) {
+  } else if (status === "PENDING") {
     buttonContent = "Request Pending... ⏱️";
     buttonStyle += " bg-yellow-500";
-  } else if (!isCreatedByUser && isRequestAccepted) {
+  } else if (status === "ACCEPTED") {
     buttonContent = "Request Accepted! ✅";
     buttonStyle += " bg-green-500";
-  } else if (!isCreatedByUser && isRequestRejected) {
+  } else if (status === "REJECTED") {
     buttonContent = "Request Rejected! ❌";
     buttonStyle += " bg-red-500";
-  } else if (!isCreatedByUser && teamSize.max === currentTeamSize) {
+  } else if (status === "FULL") {
     buttonContent = "Hackathon Full! 🚫";
     buttonStyle += " bg-red-500";
-  } else if (isCreatedByUser) {
+  } else if (status === "CREATOR") {
     buttonContent = "View Your Post 📝";
     buttonStyle += " bg-gray-500";
   } else {
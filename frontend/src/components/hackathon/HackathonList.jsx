@@ -16,37 +16,31 @@ const HackathonList = ({
   const { username, status } = useAuth();
   const [latitude, setLatitude] = useState(localStorage.getItem("latitude"));
   const [longitude, setLongitude] = useState(localStorage.getItem("longitude"));
+  const [nextCursor, setNextCursor] = useState(null);
   const radius = 600
-  const fetchHackathons = async () => {
-    if (type === "past") {
-      const response = await fetch(`${API_BASE}/api/hackathons/past`, {
-        credentials: 'include',
-      });
 
-      const data = await response.json();
-      // console.log(response);
-      setHackathons(data);
-      setFilteredHackathons(data);
-    }
-    if (type === "ongoing") {
-      const response = await fetch(
-        `${API_BASE}/api/hackathons/ongoing`, {
-        credentials: 'include',
-      }
-      );
-      const data = await response.json();
-      setHackathons(data);
-      setFilteredHackathons(data);
+  // past, ongoing and upcoming are paged: { items, nextCursor }
+  const fetchPage = async (cursor) => {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : "";
+    const response = await fetch(`${API_BASE}/api/hackathons/${type}${query}`, {
+      credentials: 'include',
+    });
+    const data = await response.json();
+    const items = data.items || [];
+    if (cursor) {
+      setHackathons((prev) => [...prev, ...items]);
+      setFilteredHackathons((prev) => [...prev, ...items]);
+    } else {
+      setHackathons(items);
+      setFilteredHackathons(items);
     }
-    if (type === "upcoming") {
-      const response = await fetch(
-        `${API_BASE}/api/hackathons/upcoming`, {
-        credentials: 'include',
-      }
-      );
-      const data = await response.json();
-      setHackathons(data);
-      setFilteredHackathons(data);
+    setNextCursor(data.nextCursor);
+  };
+
+  const fetchHackathons = async () => {
+    setNextCursor(null);
+    if (type === "past" || type === "ongoing" || type === "upcoming") {
+      await fetchPage(null);
     }
     if (type == "nearby") {
       // console.log(`status : ${status}`);
@@ -108,6 +102,16 @@ const HackathonList = ({
             <HackathonCard key={index} {...hackathon} joinable={joinable} type={type} />
           ))}
       </div>
+      {nextCursor && (
+        <div className="flex justify-center mt-4">
+          <button
+            className="px-6 py-3 text-white font-bold rounded-lg bg-blue-500 hover:bg-blue-600"
+            onClick={() => fetchPage(nextCursor)}
+          >
+            Load more
+          </button>
+        </div>
+      )}
     </>
   );
 };